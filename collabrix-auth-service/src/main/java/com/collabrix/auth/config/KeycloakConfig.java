@@ -5,7 +5,12 @@ import org.keycloak.admin.client.KeycloakBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class KeycloakConfig {
@@ -36,10 +41,31 @@ public class KeycloakConfig {
                 .build();
     }
 
+    @Value("${keycloak.http.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${keycloak.http.pending-acquire-max-count:5000}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${keycloak.http.pending-acquire-timeout-ms:10000}")
+    private long pendingAcquireTimeoutMs;
+
+    /**
+     * Callers block on this client (one per request thread); Reactor Netty's default pool
+     * rejects once twice its connection count is waiting, which a few hundred concurrent
+     * logins on virtual threads exceed. Size both limits explicitly instead.
+     */
     @Bean
     public WebClient keycloakWebClient(@Value("${keycloak.server-url}") String kcUrl) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("keycloak")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .build();
+
         return WebClient.builder()
                 .baseUrl(kcUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
                 .build();
     }
 }
@@ -0,0 +1,51 @@
+package com.collabrix.user.cache;
+
+import com.collabrix.user.kafka.events.CacheInvalidationEvent;
+import com.collabrix.user.search.UserSuggestionIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Applies invalidations broadcast by other replicas to this replica's local state.
+ * Every replica consumes with its own group id, so each one sees every message.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationListener {
+
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final UserProfileCache userProfileCache;
+    private final UserSuggestionIndex userSuggestionIndex;
+
+    @KafkaListener(
+            topics = "${kafka.topic.user-cache-invalidation}",
+            groupId = "${spring.kafka.consumer.group-id}-cache-#{@cacheInvalidationPublisher.instanceId}",
+            containerFactory = "cacheInvalidationKafkaListenerContainerFactory"
+    )
+    public void onInvalidation(@Payload CacheInvalidationEvent event) {
+        if (cacheInvalidationPublisher.getInstanceId().equals(event.getOrigin())) {
+            return; // Already applied locally before it was published
+        }
+
+        log.debug("📨 Cache invalidation from {}: {} users, {} usernames",
+                event.getOrigin(), sizeOf(event.getUserIds()), sizeOf(event.getUsernames()));
+
+        if (event.getUserIds() != null) {
+            event.getUserIds().forEach(userId -> userProfileCache.evict(userId, null));
+            userSuggestionIndex.refresh(event.getUserIds());
+        }
+        if (event.getUsernames() != null) {
+            event.getUsernames().forEach(username -> userProfileCache.evict(null, username));
+        }
+    }
+
+    private static int sizeOf(Collection<?> values) {
+        return values == null ? 0 : values.size();
+    }
+}
@@ -0,0 +1,118 @@
+package com.collabrix.user.cache;
+
+import com.collabrix.user.event.ProfileChangedEvent;
+import com.collabrix.user.event.ProfilesBulkChangedEvent;
+import com.collabrix.user.kafka.events.CacheInvalidationEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tells the other user-service replicas which profiles changed here.
+ *
+ * Keys are collected in sets (so repeated writes to one user collapse into one key)
+ * and flushed as a single Kafka message every few milliseconds. Keys of a message that
+ * fails to send go back into the sets and are sent again with the next flush.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationPublisher {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Getter
+    private final String instanceId;
+
+    private final Set<String> pendingUserIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> pendingUsernames = ConcurrentHashMap.newKeySet();
+
+    private final Counter publishFailures;
+
+    @Value("${kafka.topic.user-cache-invalidation}")
+    private String invalidationTopic;
+
+    @Value("${user.cache.invalidation.max-keys-per-message:1000}")
+    private int maxKeysPerMessage;
+
+    public CacheInvalidationPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                                      @Value("${user.instance-id:}") String configuredInstanceId,
+                                      MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.instanceId = configuredInstanceId.isBlank() ? UUID.randomUUID().toString() : configuredInstanceId;
+        this.publishFailures = meterRegistry.counter("user.cache.invalidation.publish.failures");
+    }
+
+    @TransactionalEventListener
+    public void onProfileChanged(ProfileChangedEvent event) {
+        enqueue(List.of(event.getUserId()), event.getUsername() != null ? List.of(event.getUsername()) : List.of());
+    }
+
+    @TransactionalEventListener
+    public void onProfilesBulkChanged(ProfilesBulkChangedEvent event) {
+        enqueue(event.getUserIds(), event.getUsernames());
+    }
+
+    public void enqueue(Collection<String> userIds, Collection<String> usernames) {
+        pendingUserIds.addAll(userIds);
+        pendingUsernames.addAll(usernames);
+    }
+
+    @Scheduled(fixedDelayString = "${user.cache.invalidation.flush-interval-ms:50}")
+    public void flush() {
+        while (!pendingUserIds.isEmpty() || !pendingUsernames.isEmpty()) {
+            Set<String> userIds = drain(pendingUserIds, maxKeysPerMessage);
+            Set<String> usernames = drain(pendingUsernames, maxKeysPerMessage);
+
+            CacheInvalidationEvent event = CacheInvalidationEvent.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .origin(instanceId)
+                    .timestamp(System.currentTimeMillis())
+                    .userIds(userIds)
+                    .usernames(usernames)
+                    .build();
+
+            try {
+                kafkaTemplate.send(invalidationTopic, instanceId, event).whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("❌ Failed to publish cache invalidation for {} users, will resend", userIds.size(), ex);
+                        requeue(userIds, usernames);
+                    }
+                });
+                log.debug("📤 Published cache invalidation for {} users", userIds.size());
+            } catch (Exception ex) {
+                log.error("❌ Error publishing cache invalidation for {} users, will resend", userIds.size(), ex);
+                requeue(userIds, usernames);
+                return;
+            }
+        }
+    }
+
+    private void requeue(Set<String> userIds, Set<String> usernames) {
+        publishFailures.increment();
+        enqueue(userIds, usernames);
+    }
+
+    private static Set<String> drain(Set<String> source, int max) {
+        Set<String> drained = new HashSet<>();
+        Iterator<String> iterator = source.iterator();
+        while (iterator.hasNext() && drained.size() < max) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+}
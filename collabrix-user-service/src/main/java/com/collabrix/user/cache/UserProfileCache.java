@@ -0,0 +1,160 @@
+package com.collabrix.user.cache;
+
+import com.collabrix.user.dto.UserProfileResponse;
+import com.collabrix.user.event.ProfileChangedEvent;
+import com.collabrix.user.event.ProfilesBulkChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-process cache of profile responses.
+ *
+ * - profilesById: id -> profile (size bound, W-TinyLFU eviction, TTL)
+ * - idsByUsername: username -> id, so username lookups share the profile entries
+ * - missingKeys: short-lived negative entries for ids/usernames that do not exist
+ *
+ * Entries are evicted after every committed profile write. A load that raced with
+ * an eviction of the same id or username is not stored (see {@link #stamp()}), so a stale
+ * read never outlives the write; loads of other profiles are stored as usual.
+ */
+@Slf4j
+@Component
+public class UserProfileCache {
+
+    private static final String ID_KEY = "id:";
+    private static final String USERNAME_KEY = "username:";
+
+    private final Cache<String, UserProfileResponse> profilesById;
+    private final Cache<String, String> idsByUsername;
+    private final Cache<String, Boolean> missingKeys;
+
+    // Key -> value of the eviction counter when it was last evicted. Bounded by size only, so
+    // a key drops out solely through the eviction listener, which raises forgottenUpTo
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong forgottenUpTo = new AtomicLong();
+    private final Cache<String, Long> lastEvicted;
+
+    public UserProfileCache(@Value("${user.cache.profiles.maximum-size:50000}") long maximumSize,
+                            @Value("${user.cache.profiles.expire-after-write-seconds:600}") long ttlSeconds,
+                            @Value("${user.cache.profiles.negative-ttl-seconds:30}") long negativeTtlSeconds,
+                            MeterRegistry meterRegistry) {
+        this.profilesById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.idsByUsername = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.missingKeys = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(negativeTtlSeconds))
+                .recordStats()
+                .build();
+        this.lastEvicted = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .evictionListener((String key, Long evictedAt, RemovalCause cause) ->
+                        forgottenUpTo.accumulateAndGet(evictedAt, Math::max))
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, profilesById, "user.profiles.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByUsername, "user.profiles.by-username");
+        CaffeineCacheMetrics.monitor(meterRegistry, missingKeys, "user.profiles.missing");
+    }
+
+    public Optional<UserProfileResponse> getById(String userId) {
+        return Optional.ofNullable(profilesById.getIfPresent(userId));
+    }
+
+    public Optional<UserProfileResponse> getByUsername(String username) {
+        String userId = idsByUsername.getIfPresent(username);
+        return userId == null ? Optional.empty() : getById(userId);
+    }
+
+    public boolean isKnownMissingId(String userId) {
+        return missingKeys.getIfPresent(ID_KEY + userId) != null;
+    }
+
+    public boolean isKnownMissingUsername(String username) {
+        return missingKeys.getIfPresent(USERNAME_KEY + username) != null;
+    }
+
+    /**
+     * Current eviction counter; capture it before reading the database and pass it to
+     * the put/mark methods, which skip the write if that key was evicted meanwhile
+     */
+    public long stamp() {
+        return evictions.get();
+    }
+
+    public void put(UserProfileResponse profile, long stamp) {
+        String idKey = ID_KEY + profile.getId();
+        String usernameKey = USERNAME_KEY + profile.getUsername();
+        // compute runs atomically with evict()'s invalidate of the same key
+        profilesById.asMap().compute(profile.getId(), (id, cached) ->
+                evictedSince(idKey, stamp) ? cached : profile);
+        idsByUsername.asMap().compute(profile.getUsername(), (username, cached) ->
+                evictedSince(idKey, stamp) || evictedSince(usernameKey, stamp) ? cached : profile.getId());
+    }
+
+    public void markMissingId(String userId, long stamp) {
+        markMissing(ID_KEY + userId, stamp);
+    }
+
+    public void markMissingUsername(String username, long stamp) {
+        markMissing(USERNAME_KEY + username, stamp);
+    }
+
+    public void evict(String userId, String username) {
+        long evictedAt = evictions.incrementAndGet();
+        if (userId != null) {
+            lastEvicted.put(ID_KEY + userId, evictedAt);
+            profilesById.invalidate(userId);
+            missingKeys.invalidate(ID_KEY + userId);
+        }
+        if (username != null) {
+            lastEvicted.put(USERNAME_KEY + username, evictedAt);
+            idsByUsername.invalidate(username);
+            missingKeys.invalidate(USERNAME_KEY + username);
+        }
+    }
+
+    private void markMissing(String key, long stamp) {
+        missingKeys.asMap().compute(key, (k, cached) -> evictedSince(key, stamp) ? cached : Boolean.TRUE);
+    }
+
+    /**
+     * Whether the key was evicted after the stamp was taken; a key no longer tracked
+     * counts as evicted when its record was dropped
+     */
+    private boolean evictedSince(String key, long stamp) {
+        Long evictedAt = lastEvicted.getIfPresent(key);
+        return (evictedAt != null ? evictedAt : forgottenUpTo.get()) > stamp;
+    }
+
+    @TransactionalEventListener
+    public void onProfileChanged(ProfileChangedEvent event) {
+        log.debug("Evicting cached profile {} ({})", event.getUserId(), event.getChangeType());
+        evict(event.getUserId(), event.getUsername());
+    }
+
+    @TransactionalEventListener
+    public void onProfilesBulkChanged(ProfilesBulkChangedEvent event) {
+        log.debug("Evicting {} cached profiles ({})", event.getUserIds().size(), event.getChangeType());
+        event.getUserIds().forEach(userId -> evict(userId, null));
+        event.getUsernames().forEach(username -> evict(null, username));
+    }
+}
@@ -1,32 +1,56 @@
 package com.collabrix.user.config;
 
+import com.collabrix.user.kafka.events.CacheInvalidationEvent;
 import com.collabrix.user.kafka.events.UserDeletedEvent;
 import com.collabrix.user.kafka.events.UserRegisteredEvent;
 import com.collabrix.user.kafka.events.UserRoleChangedEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.backoff.ExponentialBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
 @EnableKafka
+@RequiredArgsConstructor
 public class KafkaConsumerConfig {
 
+    private final MeterRegistry meterRegistry;
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${kafka.consumer.user-registered.max-poll-records:500}")
+    private int userRegisteredMaxPollRecords;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${kafka.consumer.blocked-retry.initial-delay-ms:1000}")
+    private long blockedRetryInitialDelayMs;
+
+    @Value("${kafka.consumer.blocked-retry.max-delay-ms:30000}")
+    private long blockedRetryMaxDelayMs;
+
     private Map<String, Object> baseConsumerConfig() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
@@ -39,20 +63,35 @@ public class KafkaConsumerConfig {
 
     // ✅ Generic method to build consumer factories
     private <T> ConsumerFactory<String, T> buildConsumerFactory(Class<T> targetType) {
+        return buildConsumerFactory(targetType, baseConsumerConfig());
+    }
+
+    private <T> ConsumerFactory<String, T> buildConsumerFactory(Class<T> targetType, Map<String, Object> props) {
         JsonDeserializer<T> deserializer = new JsonDeserializer<>(targetType);
         deserializer.addTrustedPackages("*");
         deserializer.setUseTypeMapperForKey(false);
         deserializer.setRemoveTypeHeaders(false);
         deserializer.ignoreTypeHeaders(); // ignore missing __TypeId__ header
-        return new DefaultKafkaConsumerFactory<>(baseConsumerConfig(), new StringDeserializer(), deserializer);
+        DefaultKafkaConsumerFactory<String, T> factory =
+                new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), deserializer);
+        // Kafka client metrics, including per-partition records-lag
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
     }
 
-    // 🟢 User Registered
+    // 🟢 User Registered: batch listener, each poll is written as one transaction and
+    // its offsets committed together once the listener returns
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, UserRegisteredEvent> userRegisteredKafkaListenerContainerFactory() {
+        Map<String, Object> props = baseConsumerConfig();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, userRegisteredMaxPollRecords);
+
         ConcurrentKafkaListenerContainerFactory<String, UserRegisteredEvent> factory =
-                new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(buildConsumerFactory(UserRegisteredEvent.class));
+                newContainerFactory();
+        factory.setConsumerFactory(buildConsumerFactory(UserRegisteredEvent.class, props));
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(retryUntilForwarded());
         return factory;
     }
 
@@ -60,8 +99,10 @@ public class KafkaConsumerConfig {
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, UserDeletedEvent> userDeletedKafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, UserDeletedEvent> factory =
-                new ConcurrentKafkaListenerContainerFactory<>();
+                newContainerFactory();
         factory.setConsumerFactory(buildConsumerFactory(UserDeletedEvent.class));
+        useOrderedParallelAcks(factory);
+        factory.setCommonErrorHandler(retryUntilForwarded());
         return factory;
     }
 
@@ -69,8 +110,60 @@ public class KafkaConsumerConfig {
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, UserRoleChangedEvent> userRoleChangedKafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, UserRoleChangedEvent> factory =
-                new ConcurrentKafkaListenerContainerFactory<>();
+                newContainerFactory();
         factory.setConsumerFactory(buildConsumerFactory(UserRoleChangedEvent.class));
+        useOrderedParallelAcks(factory);
+        factory.setCommonErrorHandler(retryUntilForwarded());
+        return factory;
+    }
+
+    // ♻️ Retry path (T.failed, T.failed.retry-N): payloads stay generic JSON so one factory
+    // serves every event type and republishing a record to the next topic is lossless
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, JsonNode> failedEventKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, JsonNode> factory =
+                newContainerFactory();
+        factory.setConsumerFactory(buildConsumerFactory(JsonNode.class));
+        return factory;
+    }
+
+    // Boot only applies the virtual-thread mode to the factory it auto-configures; these are
+    // built by hand, so their consumer threads are switched here
+    private <T> ConcurrentKafkaListenerContainerFactory<String, T> newContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, T> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("kafka-listener-");
+            executor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(executor);
+        }
+        return factory;
+    }
+
+    // The main listeners hand their own failures to the retry path, so what reaches the
+    // container is an event that could not be moved there either (broker trouble): seek
+    // back and redeliver it, with backoff and without ever giving up on it
+    private DefaultErrorHandler retryUntilForwarded() {
+        ExponentialBackOff backOff = new ExponentialBackOff(blockedRetryInitialDelayMs, 2.0);
+        backOff.setMaxInterval(blockedRetryMaxDelayMs);
+        return new DefaultErrorHandler(backOff);
+    }
+
+    // Records are acknowledged by OrderedEventExecutor as its lanes finish them, possibly
+    // out of order; the container holds back each commit until the gap below it is filled
+    private static void useOrderedParallelAcks(ConcurrentKafkaListenerContainerFactory<String, ?> factory) {
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+    }
+
+    // 🔁 Cache invalidation broadcast: each replica only cares about changes made from now on
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, CacheInvalidationEvent> cacheInvalidationKafkaListenerContainerFactory() {
+        Map<String, Object> props = baseConsumerConfig();
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+
+        ConcurrentKafkaListenerContainerFactory<String, CacheInvalidationEvent> factory =
+                newContainerFactory();
+        factory.setConsumerFactory(buildConsumerFactory(CacheInvalidationEvent.class, props));
         return factory;
     }
 }
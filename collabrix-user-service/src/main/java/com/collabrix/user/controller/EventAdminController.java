@@ -0,0 +1,35 @@
+package com.collabrix.user.controller;
+
+import com.collabrix.user.dto.DeadLetterRedriveResponse;
+import com.collabrix.user.service.DeadLetterRedriveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for operating the user event pipeline (Admin only)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/users/admin/events")
+@RequiredArgsConstructor
+public class EventAdminController {
+
+    private final DeadLetterRedriveService deadLetterRedriveService;
+
+    /**
+     * Re-drive dead-lettered events of one type (registered, deleted, role-changed)
+     * back onto their main topic
+     */
+    @PostMapping("/{eventType}/dead-letters/redrive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DeadLetterRedriveResponse> redriveDeadLetters(
+            @PathVariable String eventType,
+            @RequestParam(required = false) Integer max) {
+        log.info("📥 POST /api/v1/users/admin/events/{}/dead-letters/redrive?max={}", eventType, max);
+        DeadLetterRedriveResponse response = deadLetterRedriveService.redrive(eventType, max);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,66 @@
+package com.collabrix.user.controller;
+
+import com.collabrix.user.dto.BulkOperationResponse;
+import com.collabrix.user.dto.BulkProfileFilter;
+import com.collabrix.user.service.BulkProfileService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for bulk profile administration (Admin only).
+ * Every operation takes a filter (organization, countryCode, userIds, role - combined with AND)
+ * and returns how many profiles it changed.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/users/admin/profiles")
+@RequiredArgsConstructor
+public class ProfileAdminController {
+
+    private final BulkProfileService bulkProfileService;
+
+    /**
+     * Soft delete every matching active profile
+     */
+    @PostMapping("/deactivate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkOperationResponse> deactivate(@RequestBody BulkProfileFilter filter) {
+        log.info("📥 POST /api/v1/users/admin/profiles/deactivate {}", filter);
+        return ResponseEntity.ok(bulkProfileService.deactivate(filter));
+    }
+
+    /**
+     * Reactivate every matching inactive profile
+     */
+    @PostMapping("/reactivate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkOperationResponse> reactivate(@RequestBody BulkProfileFilter filter) {
+        log.info("📥 POST /api/v1/users/admin/profiles/reactivate {}", filter);
+        return ResponseEntity.ok(bulkProfileService.reactivate(filter));
+    }
+
+    /**
+     * Grant a role to every matching profile that does not hold it yet
+     */
+    @PostMapping("/roles/{role}/grant")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkOperationResponse> grantRole(@PathVariable String role,
+                                                           @RequestBody BulkProfileFilter filter) {
+        log.info("📥 POST /api/v1/users/admin/profiles/roles/{}/grant {}", role, filter);
+        return ResponseEntity.ok(bulkProfileService.grantRole(role, filter));
+    }
+
+    /**
+     * Revoke a role from every matching profile that holds it
+     */
+    @PostMapping("/roles/{role}/revoke")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkOperationResponse> revokeRole(@PathVariable String role,
+                                                            @RequestBody BulkProfileFilter filter) {
+        log.info("📥 POST /api/v1/users/admin/profiles/roles/{}/revoke {}", role, filter);
+        return ResponseEntity.ok(bulkProfileService.revokeRole(role, filter));
+    }
+}
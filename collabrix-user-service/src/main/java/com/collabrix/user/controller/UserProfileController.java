@@ -1,16 +1,33 @@
 package com.collabrix.user.controller;
 
+import com.collabrix.user.dto.BatchProfileRequest;
+import com.collabrix.user.dto.BatchProfileResponse;
+import com.collabrix.user.dto.CursorPageResponse;
+import com.collabrix.user.dto.ExportFormat;
+import com.collabrix.user.dto.FacetedSearchResponse;
+import com.collabrix.user.dto.OrganizationResponse;
+import com.collabrix.user.dto.ProfileSearchFilter;
 import com.collabrix.user.dto.UpdateAvatarRequest;
 import com.collabrix.user.dto.UpdateProfileRequest;
 import com.collabrix.user.dto.UserProfileResponse;
 import com.collabrix.user.dto.UserStatisticsResponse;
+import com.collabrix.user.dto.UserSuggestionResponse;
+import com.collabrix.user.service.ProfileEtag;
+import com.collabrix.user.service.UserProfileExportService;
 import com.collabrix.user.service.UserProfileService;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -24,17 +41,21 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class UserProfileController {
 
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final UserProfileService userProfileService;
+    private final UserProfileExportService userProfileExportService;
 
     /**
-     * Get user profile by ID
+     * Get user profile by ID (304 when If-None-Match still matches)
      */
     @GetMapping("/{userId}")
     @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.claims['sub']")
-    public ResponseEntity<UserProfileResponse> getUserById(@PathVariable String userId) {
+    public ResponseEntity<UserProfileResponse> getUserById(
+            @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("📥 GET /api/v1/users/{}", userId);
-        UserProfileResponse response = userProfileService.getProfileById(userId);
-        return ResponseEntity.ok(response);
+        return conditionalProfile(userId, ifNoneMatch);
     }
 
     /**
@@ -47,42 +68,83 @@ public class UserProfileController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Resolve many profiles by id and/or username in one call. Admins get full profiles;
+     * other callers get their own in full and everyone else's public view only, the same
+     * access GET /{userId} grants.
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BatchProfileResponse> getProfilesBatch(@RequestBody BatchProfileRequest request,
+                                                                 Authentication authentication) {
+        log.info("📥 POST /api/v1/users/batch");
+        BatchProfileResponse response = userProfileService.getProfilesBatch(request);
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (!admin) {
+            response.setProfiles(response.getProfiles().stream()
+                    .map(profile -> profile.getId().equals(authentication.getName()) ? profile : profile.publicView())
+                    .toList());
+        }
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get current user's profile
      */
     @GetMapping("/me")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<UserProfileResponse> getCurrentUser(
-            @RequestAttribute("userId") String userId) {
+            @RequestAttribute("userId") String userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("📥 GET /api/v1/users/me");
-        UserProfileResponse response = userProfileService.getProfileById(userId);
-        return ResponseEntity.ok(response);
+        return conditionalProfile(userId, ifNoneMatch);
     }
 
     /**
-     * Update user profile
+     * Update user profile. If-Match is checked against the version loaded by the write's
+     * own transaction (412), and a concurrent edit committing first fails it with 409.
      */
     @PutMapping("/{userId}")
     @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.claims['sub']")
     public ResponseEntity<UserProfileResponse> updateProfile(
             @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateProfileRequest request) {
         log.info("📥 PUT /api/v1/users/{}", userId);
-        UserProfileResponse response = userProfileService.updateProfile(userId, request);
-        return ResponseEntity.ok(response);
+        UserProfileResponse response = userProfileService.updateProfile(userId, request, ProfileEtag.versionsOf(ifMatch));
+        return withEtag(response);
+    }
+
+    /**
+     * Partially update user profile with a JSON Merge Patch: only the members present are
+     * written, null removes a field. If-Match is checked atomically with the write (412),
+     * a write that races another edit fails with 409.
+     */
+    @PatchMapping(value = "/{userId}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.claims['sub']")
+    public ResponseEntity<UserProfileResponse> patchProfile(
+            @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        log.info("📥 PATCH /api/v1/users/{}", userId);
+        UserProfileResponse response = userProfileService.patchProfile(userId, patch, ProfileEtag.versionsOf(ifMatch));
+        return withEtag(response);
     }
 
     /**
-     * Update user avatar
+     * Update user avatar, with the same If-Match handling as PUT
      */
     @PatchMapping("/{userId}/avatar")
     @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.claims['sub']")
     public ResponseEntity<UserProfileResponse> updateAvatar(
             @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateAvatarRequest request) {
         log.info("📥 PATCH /api/v1/users/{}/avatar", userId);
-        UserProfileResponse response = userProfileService.updateAvatar(userId, request.getAvatarUrl());
-        return ResponseEntity.ok(response);
+        UserProfileResponse response = userProfileService.updateAvatar(
+                userId, request.getAvatarUrl(), ProfileEtag.versionsOf(ifMatch));
+        return withEtag(response);
     }
 
     /**
@@ -111,58 +173,155 @@ public class UserProfileController {
     }
 
     /**
-     * Search users
+     * Search users by username, email or name, best matches first
      */
     @GetMapping("/search")
-    public ResponseEntity<List<UserProfileResponse>> searchUsers(
-            @RequestParam(required = false) String q) {
-        log.info("📥 GET /api/v1/users/search?q={}", q);
-        List<UserProfileResponse> response = userProfileService.searchUsers(q);
+    public ResponseEntity<CursorPageResponse<UserProfileResponse>> searchUsers(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("📥 GET /api/v1/users/search?q={}&cursor={}&size={}", q, cursor, size);
+        CursorPageResponse<UserProfileResponse> response = userProfileService.searchUsers(q, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Search with per-facet counts (organization, countryCode, role, active, completion)
+     * over all matches, for the admin dashboards (Admin only)
+     */
+    @GetMapping("/search/facets")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FacetedSearchResponse> searchWithFacets(
+            ProfileSearchFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("📥 GET /api/v1/users/search/facets {} cursor={}&size={}", filter, cursor, size);
+        FacetedSearchResponse response = userProfileService.searchWithFacets(filter, cursor, size);
         return ResponseEntity.ok(response);
     }
 
     /**
-     * Get all active users (Admin only)
+     * Typeahead suggestions for @mentions, served from the in-memory index
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<UserSuggestionResponse>> suggestUsers(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        log.debug("📥 GET /api/v1/users/suggest?prefix={}", prefix);
+        List<UserSuggestionResponse> response = userProfileService.suggestUsers(prefix, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get all active users, one cursor page at a time (Admin only)
      */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserProfileResponse>> getAllActiveUsers() {
-        log.info("📥 GET /api/v1/users");
-        List<UserProfileResponse> response = userProfileService.getAllActiveUsers();
+    public ResponseEntity<CursorPageResponse<UserProfileResponse>> getAllActiveUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("📥 GET /api/v1/users?cursor={}&size={}", cursor, size);
+        CursorPageResponse<UserProfileResponse> response = userProfileService.getAllActiveUsers(cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Organization directory: organizations with their active and total member counts,
+     * in name order, optionally narrowed to names starting with prefix
+     */
+    @GetMapping("/organizations")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPageResponse<OrganizationResponse>> getOrganizations(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("📥 GET /api/v1/users/organizations?prefix={}&cursor={}&size={}", prefix, cursor, size);
+        CursorPageResponse<OrganizationResponse> response = userProfileService.getOrganizations(prefix, cursor, size);
         return ResponseEntity.ok(response);
     }
 
     /**
-     * Get users by organization
+     * Get users by organization, one cursor page at a time
      */
-    @GetMapping("/organization/{organization}")
+    @GetMapping({"/organization/{organization}", "/organizations/{organization}/members"})
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserProfileResponse>> getUsersByOrganization(
-            @PathVariable String organization) {
-        log.info("📥 GET /api/v1/users/organization/{}", organization);
-        List<UserProfileResponse> response = userProfileService.getUsersByOrganization(organization);
+    public ResponseEntity<CursorPageResponse<UserProfileResponse>> getUsersByOrganization(
+            @PathVariable String organization,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("📥 GET /api/v1/users/organization/{}?cursor={}&size={}", organization, cursor, size);
+        CursorPageResponse<UserProfileResponse> response =
+                userProfileService.getUsersByOrganization(organization, cursor, size);
         return ResponseEntity.ok(response);
     }
 
     /**
-     * Get users with incomplete profiles (Admin only)
+     * Get users with incomplete profiles, one cursor page at a time (Admin only)
      */
     @GetMapping("/incomplete")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserProfileResponse>> getUsersWithIncompleteProfiles() {
-        log.info("📥 GET /api/v1/users/incomplete");
-        List<UserProfileResponse> response = userProfileService.getUsersWithIncompleteProfiles();
+    public ResponseEntity<CursorPageResponse<UserProfileResponse>> getUsersWithIncompleteProfiles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("📥 GET /api/v1/users/incomplete?cursor={}&size={}", cursor, size);
+        CursorPageResponse<UserProfileResponse> response =
+                userProfileService.getUsersWithIncompleteProfiles(cursor, size);
         return ResponseEntity.ok(response);
     }
 
     /**
-     * Get user statistics (Admin only)
+     * Number of active users missing each optional profile field (Admin only)
+     */
+    @GetMapping("/incomplete/missing-fields")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Long>> countMissingFields() {
+        log.info("📥 GET /api/v1/users/incomplete/missing-fields");
+        return ResponseEntity.ok(userProfileService.countMissingFields());
+    }
+
+    /**
+     * Active users missing one profile field (e.g. avatarUrl), one cursor page at a time (Admin only)
+     */
+    @GetMapping("/incomplete/missing-fields/{field}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPageResponse<UserProfileResponse>> getUsersMissingField(
+            @PathVariable String field,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("📥 GET /api/v1/users/incomplete/missing-fields/{}?cursor={}&size={}", field, cursor, size);
+        CursorPageResponse<UserProfileResponse> response =
+                userProfileService.getUsersMissingField(field, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Stream all profiles as NDJSON or CSV (Admin only)
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "true") boolean activeOnly) {
+        log.info("📥 GET /api/v1/users/export?format={}&activeOnly={}", format, activeOnly);
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        StreamingResponseBody body = outputStream ->
+                userProfileExportService.exportProfiles(exportFormat, activeOnly, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"user-profiles." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Get user statistics from the running counters, or recomputed exactly (Admin only)
      */
     @GetMapping("/statistics")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<UserStatisticsResponse> getUserStatistics() {
-        log.info("📥 GET /api/v1/users/statistics");
-        UserStatisticsResponse response = userProfileService.getUserStatistics();
+    public ResponseEntity<UserStatisticsResponse> getUserStatistics(
+            @RequestParam(defaultValue = "false") boolean exact) {
+        log.info("📥 GET /api/v1/users/statistics?exact={}", exact);
+        UserStatisticsResponse response = userProfileService.getUserStatistics(exact);
         return ResponseEntity.ok(response);
     }
 
@@ -179,4 +338,25 @@ public class UserProfileController {
                 "userId", userId
         ));
     }
-}
\ No newline at end of file
+
+    // Conditional GET: compare against the cheap version lookup before building the body
+    private ResponseEntity<UserProfileResponse> conditionalProfile(String userId, String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String etag = userProfileService.getProfileEtag(userId);
+            if (ProfileEtag.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .build();
+            }
+        }
+        return withEtag(userProfileService.getProfileById(userId));
+    }
+
+    private ResponseEntity<UserProfileResponse> withEtag(UserProfileResponse response) {
+        return ResponseEntity.ok()
+                .eTag(ProfileEtag.of(response))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(response);
+    }
+}
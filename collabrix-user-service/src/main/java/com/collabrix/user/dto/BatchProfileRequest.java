@@ -0,0 +1,21 @@
+package com.collabrix.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request DTO for resolving many profiles at once, by id and/or username
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchProfileRequest {
+
+    private List<String> ids = new ArrayList<>();
+
+    private List<String> usernames = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.collabrix.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a batch profile lookup
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchProfileResponse {
+    private List<UserProfileResponse> profiles;
+    private List<String> missingIds;
+    private List<String> missingUsernames;
+}
@@ -0,0 +1,19 @@
+package com.collabrix.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a bulk admin operation on profiles
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationResponse {
+    private String operation;
+    private Long affected;
+    private Integer chunks;
+}
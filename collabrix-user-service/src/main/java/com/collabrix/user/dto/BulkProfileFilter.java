@@ -0,0 +1,35 @@
+package com.collabrix.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request DTO selecting the profiles a bulk admin operation applies to.
+ * Criteria are combined with AND; at least one must be given.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProfileFilter {
+
+    private String organization;
+
+    private String countryCode;
+
+    private List<String> userIds = new ArrayList<>();
+
+    /** Only profiles that currently hold this role */
+    private String role;
+
+    public boolean isEmpty() {
+        return isBlank(organization) && isBlank(countryCode) && (userIds == null || userIds.isEmpty()) && isBlank(role);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,21 @@
+package com.collabrix.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a dead-letter re-drive run
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterRedriveResponse {
+    private String eventType;
+    private String deadLetterTopic;
+    private String targetTopic;
+    private Integer redriven;
+    private Boolean hasMore;
+}
@@ -0,0 +1,27 @@
+package com.collabrix.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for the faceted search: one page of matching profiles, the total
+ * number of matches and, per facet (organization, countryCode, role, active,
+ * completion), the most frequent values among all matches.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetedSearchResponse {
+    private List<UserProfileResponse> items;
+    private Integer size;
+    private String nextCursor;
+    private Boolean hasMore;
+    private Long totalMatches;
+    private Map<String, List<FacetCount>> facets;
+}
@@ -0,0 +1,19 @@
+package com.collabrix.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for one entry of the organization directory
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrganizationResponse {
+    private String organization;
+    private Long totalMembers;
+    private Long activeMembers;
+}
@@ -0,0 +1,27 @@
+package com.collabrix.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters of the faceted profile search. Every criterion is optional and
+ * they are combined with AND; without q the facets cover every profile.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileSearchFilter {
+
+    /** Search term, matched like /search (substring or fuzzy on username, email and name) */
+    private String q;
+
+    private String organization;
+
+    private String countryCode;
+
+    /** Only profiles that hold this role */
+    private String role;
+
+    private Boolean active;
+}
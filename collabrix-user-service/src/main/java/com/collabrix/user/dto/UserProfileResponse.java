@@ -37,4 +37,18 @@ public class UserProfileResponse {
     private LocalDateTime lastLoginAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
+
+    /**
+     * What any signed-in user may see of someone else's profile: identity, names and avatar
+     */
+    public UserProfileResponse publicView() {
+        return UserProfileResponse.builder()
+                .id(id)
+                .username(username)
+                .firstName(firstName)
+                .lastName(lastName)
+                .avatarUrl(avatarUrl)
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.collabrix.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for @mention / typeahead suggestions
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSuggestionResponse {
+    private String id;
+    private String username;
+    private String firstName;
+    private String lastName;
+    private String avatarUrl;
+}
@@ -0,0 +1,75 @@
+package com.collabrix.user.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The optional profile fields profile completion counts. Each owns one bit of
+ * user_profiles.completion_mask (1 << ordinal), set while the field is non-empty;
+ * the mask is persisted, so constants may only ever be appended.
+ * Username and email are always filled and have no bit.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CompletionField {
+
+    FIRST_NAME("firstName", "first_name", UserProfile::getFirstName),
+    LAST_NAME("lastName", "last_name", UserProfile::getLastName),
+    COUNTRY_CODE("countryCode", "country_code", UserProfile::getCountryCode),
+    CONTACT_NO("contactNo", "contact_no", UserProfile::getContactNo),
+    ORGANIZATION("organization", "organization", UserProfile::getOrganization),
+    AVATAR_URL("avatarUrl", "avatar_url", UserProfile::getAvatarUrl),
+    BIO("bio", "bio", UserProfile::getBio),
+    LINKEDIN_URL("linkedinUrl", "linkedin_url", UserProfile::getLinkedinUrl),
+    GITHUB_URL("githubUrl", "github_url", UserProfile::getGithubUrl),
+    TWITTER_URL("twitterUrl", "twitter_url", UserProfile::getTwitterUrl),
+    WEBSITE_URL("websiteUrl", "website_url", UserProfile::getWebsiteUrl);
+
+    /** Username and email, counted as filled on every profile */
+    public static final int ALWAYS_FILLED = 2;
+
+    /** Denominator of the completion percentage, unchanged since before the mask existed */
+    public static final int TOTAL_FIELDS = 12;
+
+    private static final Map<String, CompletionField> BY_PROPERTY = Arrays.stream(values())
+            .collect(Collectors.toMap(CompletionField::getProperty, Function.identity()));
+
+    private final String property;
+    private final String column;
+    @Getter(AccessLevel.NONE)
+    private final Function<UserProfile, String> getter;
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public boolean isSetIn(int mask) {
+        return (mask & bit()) != 0;
+    }
+
+    public static Optional<CompletionField> fromProperty(String property) {
+        return Optional.ofNullable(BY_PROPERTY.get(property));
+    }
+
+    public static short maskOf(UserProfile profile) {
+        int mask = 0;
+        for (CompletionField field : values()) {
+            String value = field.getter.apply(profile);
+            if (value != null && !value.isEmpty()) {
+                mask |= field.bit();
+            }
+        }
+        return (short) mask;
+    }
+
+    public static int completionPercentage(int mask) {
+        return (Integer.bitCount(mask) + ALWAYS_FILLED) * 100 / TOTAL_FIELDS;
+    }
+}
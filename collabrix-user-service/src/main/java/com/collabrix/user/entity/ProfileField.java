@@ -0,0 +1,50 @@
+package com.collabrix.user.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The user-editable profile fields: their JSON property, their user_profiles column
+ * and how to set them on the entity. Identity (id, username, email), status and
+ * bookkeeping columns are deliberately absent.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ProfileField {
+
+    FIRST_NAME("firstName", "first_name", false, UserProfile::setFirstName),
+    LAST_NAME("lastName", "last_name", true, UserProfile::setLastName),
+    COUNTRY_CODE("countryCode", "country_code", false, UserProfile::setCountryCode),
+    CONTACT_NO("contactNo", "contact_no", false, UserProfile::setContactNo),
+    ORGANIZATION("organization", "organization", true, UserProfile::setOrganization),
+    BIO("bio", "bio", true, UserProfile::setBio),
+    LINKEDIN_URL("linkedinUrl", "linkedin_url", true, UserProfile::setLinkedinUrl),
+    GITHUB_URL("githubUrl", "github_url", true, UserProfile::setGithubUrl),
+    TWITTER_URL("twitterUrl", "twitter_url", true, UserProfile::setTwitterUrl),
+    WEBSITE_URL("websiteUrl", "website_url", true, UserProfile::setWebsiteUrl);
+
+    private static final Map<String, ProfileField> BY_PROPERTY = Arrays.stream(values())
+            .collect(Collectors.toMap(ProfileField::getProperty, Function.identity()));
+
+    private final String property;
+    private final String column;
+    private final boolean nullable;
+    @Getter(AccessLevel.NONE)
+    private final BiConsumer<UserProfile, String> setter;
+
+    public static Optional<ProfileField> fromProperty(String property) {
+        return Optional.ofNullable(BY_PROPERTY.get(property));
+    }
+
+    public void apply(UserProfile profile, String value) {
+        setter.accept(profile, value);
+    }
+}
@@ -3,6 +3,7 @@ package com.collabrix.user.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,8 +13,12 @@ import java.util.List;
 /**
  * User Profile Entity - Stores extended user information
  * ID matches Keycloak user ID for consistency
+ *
+ * Updates only write the columns that actually changed, and every write (including
+ * role changes) bumps {@link #version}, so concurrent edits fail instead of overwriting
  */
 @Entity
+@DynamicUpdate
 @Table(name = "user_profiles", indexes = {
         @Index(name = "idx_username", columnList = "username"),
         @Index(name = "idx_email", columnList = "email"),
@@ -80,6 +85,10 @@ public class UserProfile {
     @Builder.Default
     private Integer profileCompletionPercentage = 0;
 
+    // One bit per filled CompletionField; drives the percentage and "missing field" queries
+    @Column(name = "completion_mask")
+    private Short completionMask;
+
     @Column(name = "last_login_at")
     private LocalDateTime lastLoginAt;
 
@@ -91,10 +100,15 @@ public class UserProfile {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(
             name = "user_roles",
-            joinColumns = @JoinColumn(name = "user_id")
+            joinColumns = @JoinColumn(name = "user_id"),
+            indexes = @Index(name = "idx_user_roles_user_id", columnList = "user_id")
     )
     @Column(name = "role")
     @Builder.Default
@@ -103,31 +117,14 @@ public class UserProfile {
     // Business Methods
 
     /**
-     * Calculate profile completion percentage
+     * Calculate the completion mask and, from it, the completion percentage
      */
     public void calculateProfileCompletion() {
-        int totalFields = 12; // Total trackable fields
-        int filledFields = 0;
-
-        filledFields = getFilledFields(filledFields, firstName, lastName, countryCode, contactNo, organization);
-        filledFields = getFilledFields(filledFields, avatarUrl, bio, linkedinUrl, githubUrl, twitterUrl);
-        if (websiteUrl != null && !websiteUrl.isEmpty()) filledFields++;
-        // Username and email are always filled (from registration)
-        filledFields += 2;
-
-        this.profileCompletionPercentage = (filledFields * 100) / totalFields;
+        this.completionMask = CompletionField.maskOf(this);
+        this.profileCompletionPercentage = CompletionField.completionPercentage(completionMask);
         this.profileCompleted = this.profileCompletionPercentage >= 80;
     }
 
-    private int getFilledFields(int filledFields, String firstName, String lastName, String countryCode, String contactNo, String organization) {
-        if (firstName != null && !firstName.isEmpty()) filledFields++;
-        if (lastName != null && !lastName.isEmpty()) filledFields++;
-        if (countryCode != null && !countryCode.isEmpty()) filledFields++;
-        if (contactNo != null && !contactNo.isEmpty()) filledFields++;
-        if (organization != null && !organization.isEmpty()) filledFields++;
-        return filledFields;
-    }
-
     /**
      * Update last login timestamp
      */
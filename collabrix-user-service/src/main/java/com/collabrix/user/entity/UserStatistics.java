@@ -0,0 +1,42 @@
+package com.collabrix.user.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single-row table holding running user statistics.
+ * Counters are adjusted in the same transaction as each profile write and
+ * periodically reconciled against user_profiles.
+ */
+@Entity
+@Table(name = "user_statistics")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserStatistics {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private Integer id;
+
+    @Column(name = "total_users", nullable = false)
+    private Long totalUsers;
+
+    @Column(name = "active_users", nullable = false)
+    private Long activeUsers;
+
+    @Column(name = "completed_profiles", nullable = false)
+    private Long completedProfiles;
+
+    // Sum of profile_completion_percentage over all profiles; average = sum / total
+    @Column(name = "completion_sum", nullable = false)
+    private Long completionSum;
+
+    @Column(name = "reconciled_at")
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,38 @@
+package com.collabrix.user.event;
+
+import com.collabrix.user.dto.UserProfileResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * In-process notification that a user profile was written.
+ * Published by the service inside its transaction; listeners that maintain
+ * derived state (indexes, caches) consume it after commit.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProfileChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DEACTIVATED,
+        REACTIVATED,
+        DELETED
+    }
+
+    private final ChangeType changeType;
+    private final String userId;
+    private final String username;
+    private final UserProfileResponse profile; // null when DELETED
+
+    public static ProfileChangedEvent of(ChangeType changeType, UserProfileResponse profile) {
+        return new ProfileChangedEvent(changeType, profile.getId(), profile.getUsername(), profile);
+    }
+
+    public static ProfileChangedEvent deleted(String userId, String username) {
+        return new ProfileChangedEvent(ChangeType.DELETED, userId, username, null);
+    }
+}
@@ -0,0 +1,23 @@
+package com.collabrix.user.event;
+
+import com.collabrix.user.event.ProfileChangedEvent.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * In-process notification that one chunk of a bulk admin operation was written:
+ * the same change applied to many profiles, summarized in a single event instead
+ * of one {@link ProfileChangedEvent} per row. Consumed after commit like its sibling.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProfilesBulkChangedEvent {
+
+    private final ChangeType changeType;
+    private final List<String> userIds;
+    private final List<String> usernames;
+}
@@ -0,0 +1,10 @@
+package com.collabrix.user.exception;
+
+/**
+ * Exception thrown when request parameters are malformed or out of range
+ */
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.collabrix.user.exception;
+
+/**
+ * Exception thrown when a conditional request's precondition (If-Match) does not hold
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.collabrix.user.kafka;
+
+/**
+ * Naming of the retry path for a consumed topic T:
+ * T.failed (events that failed on the main listener) -> T.failed.retry-N (delayed
+ * attempts) -> T.failed.dlt (gave up; re-drivable back onto T)
+ */
+public final class RetryTopics {
+
+    public static final String FAILED_SUFFIX = ".failed";
+    public static final String RETRY_SUFFIX = ".retry";
+    public static final String DLT_SUFFIX = ".dlt";
+
+    private RetryTopics() {
+    }
+
+    public static String failed(String topic) {
+        return topic + FAILED_SUFFIX;
+    }
+
+    public static String deadLetter(String topic) {
+        return failed(topic) + DLT_SUFFIX;
+    }
+}
@@ -0,0 +1,161 @@
+package com.collabrix.user.kafka.consumer;
+
+import com.collabrix.user.repository.ProcessedEventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Applies each Kafka event at most once, keyed on its eventId.
+ *
+ * A bounded in-memory LRU answers redeliveries of recently seen events without any
+ * database access. Everything else is claimed in processed_events inside the same
+ * transaction as the event's effect, so an event is recorded exactly when its write
+ * commits. Events without an eventId are always processed.
+ */
+@Slf4j
+@Component
+public class EventDeduplicator {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, Boolean> recentEventIds;
+
+    private final Counter processedCounter;
+    private final Counter memoryDuplicateCounter;
+    private final Counter databaseDuplicateCounter;
+
+    @Value("${user.events.dedup.retention-hours:168}")
+    private long retentionHours;
+
+    @Value("${user.events.dedup.prune-batch-size:5000}")
+    private int pruneBatchSize;
+
+    public EventDeduplicator(ProcessedEventRepository processedEventRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${user.events.dedup.cache-size:100000}") long cacheSize,
+                             MeterRegistry meterRegistry) {
+        this.processedEventRepository = processedEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recentEventIds = Caffeine.newBuilder().maximumSize(cacheSize).build();
+
+        this.processedCounter = meterRegistry.counter("user.events.processed");
+        this.memoryDuplicateCounter = meterRegistry.counter("user.events.duplicates", "source", "memory");
+        this.databaseDuplicateCounter = meterRegistry.counter("user.events.duplicates", "source", "database");
+        meterRegistry.gauge("user.events.duplicate.ratio", this, EventDeduplicator::duplicateRatio);
+    }
+
+    /**
+     * Run the handler in a transaction unless the event was already processed
+     *
+     * @return false if the event was a duplicate and the handler did not run
+     */
+    public boolean processOnce(String eventId, Runnable handler) {
+        if (eventId == null) {
+            transactionTemplate.executeWithoutResult(status -> handler.run());
+            processedCounter.increment();
+            return true;
+        }
+        if (recentEventIds.getIfPresent(eventId) != null) {
+            memoryDuplicateCounter.increment();
+            return false;
+        }
+
+        boolean claimed = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (!processedEventRepository.claim(eventId)) {
+                return false;
+            }
+            handler.run();
+            return true;
+        }));
+
+        recentEventIds.put(eventId, Boolean.TRUE);
+        if (claimed) {
+            processedCounter.increment();
+        } else {
+            databaseDuplicateCounter.increment();
+            log.debug("Skipping already processed event {}", eventId);
+        }
+        return claimed;
+    }
+
+    /**
+     * Batch variant of {@link #processOnce}: drops duplicates (within the batch, recently
+     * seen, or recorded in the table) and hands the rest to the handler in one transaction
+     */
+    public <T> void processAllOnce(List<T> events, Function<T, String> eventIdOf, Consumer<List<T>> handler) {
+        List<T> candidates = new ArrayList<>(events.size());
+        Set<String> candidateIds = new HashSet<>();
+        for (T event : events) {
+            String eventId = eventIdOf.apply(event);
+            if (eventId == null) {
+                candidates.add(event);
+            } else if (recentEventIds.getIfPresent(eventId) != null || !candidateIds.add(eventId)) {
+                memoryDuplicateCounter.increment();
+            } else {
+                candidates.add(event);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<String> claimed = transactionTemplate.execute(status -> {
+            Set<String> newIds = processedEventRepository.claimAll(candidateIds);
+            List<T> fresh = candidates.stream()
+                    .filter(event -> eventIdOf.apply(event) == null || newIds.contains(eventIdOf.apply(event)))
+                    .toList();
+            if (!fresh.isEmpty()) {
+                handler.accept(fresh);
+            }
+            return newIds;
+        });
+
+        candidateIds.forEach(eventId -> recentEventIds.put(eventId, Boolean.TRUE));
+        int duplicates = candidateIds.size() - claimed.size();
+        processedCounter.increment(candidates.size() - duplicates);
+        databaseDuplicateCounter.increment(duplicates);
+    }
+
+    /**
+     * Forget events older than the retention window, in bounded chunks so the
+     * deletes never hold long locks on processed_events
+     */
+    @Scheduled(fixedDelayString = "${user.events.dedup.prune-interval-ms:3600000}",
+            initialDelayString = "${user.events.dedup.prune-interval-ms:3600000}")
+    public void prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofHours(retentionHours));
+        int total = 0;
+        int deleted;
+        do {
+            deleted = processedEventRepository.deleteProcessedBefore(cutoff, pruneBatchSize);
+            total += deleted;
+        } while (deleted == pruneBatchSize);
+
+        if (total > 0) {
+            log.info("🧹 Pruned {} processed event ids older than {}", total, cutoff);
+        }
+    }
+
+    private double duplicateRatio() {
+        double duplicates = memoryDuplicateCounter.count() + databaseDuplicateCounter.count();
+        double seen = duplicates + processedCounter.count();
+        return seen == 0 ? 0 : duplicates / seen;
+    }
+}
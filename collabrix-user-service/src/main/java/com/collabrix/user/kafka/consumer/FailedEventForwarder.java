@@ -0,0 +1,53 @@
+package com.collabrix.user.kafka.consumer;
+
+import com.collabrix.user.kafka.RetryTopics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves an event that failed on its main listener onto the topic's retry path, so the
+ * main partition keeps flowing while the event is retried with backoff elsewhere.
+ * If the retry path cannot take the event either, the failure is thrown so the caller
+ * leaves the original record unacknowledged and it is consumed again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FailedEventForwarder {
+
+    public static final String FAILURE_HEADER = "x-collabrix-failure";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @throws KafkaException if T.failed did not acknowledge the event
+     */
+    public void forward(String topic, String key, Object event, Exception failure) {
+        String failedTopic = RetryTopics.failed(topic);
+        ProducerRecord<String, Object> record = new ProducerRecord<>(failedTopic, key, event);
+        String reason = failure.getClass().getSimpleName() + ": " + failure.getMessage();
+        record.headers().add(FAILURE_HEADER, reason.getBytes(StandardCharsets.UTF_8));
+
+        try {
+            // Wait for the broker: the caller acknowledges the original record right after
+            kafkaTemplate.send(record).get(10, TimeUnit.SECONDS);
+            meterRegistry.counter("user.events.forwarded", "topic", topic).increment();
+            log.warn("↪️ Event for {} moved to {} after failure: {}", key, failedTopic, reason);
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            meterRegistry.counter("user.events.forward.failures", "topic", topic).increment();
+            throw new KafkaException("Could not move failed event for " + key + " to " + failedTopic, ex);
+        }
+    }
+}
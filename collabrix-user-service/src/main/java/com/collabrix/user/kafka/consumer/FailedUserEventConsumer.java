@@ -0,0 +1,111 @@
+package com.collabrix.user.kafka.consumer;
+
+import com.collabrix.user.kafka.RetryTopics;
+import com.collabrix.user.kafka.events.UserDeletedEvent;
+import com.collabrix.user.kafka.events.UserRegisteredEvent;
+import com.collabrix.user.kafka.events.UserRoleChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.DltHandler;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retry path for events that failed on {@link UserEventConsumer}.
+ *
+ * Each listener consumes T.failed; a failure there is re-published to T.failed.retry-N
+ * with exponential backoff (non-blocking: the delay is applied per retry topic, not by
+ * sleeping on the partition), and after the last attempt the event lands in T.failed.dlt,
+ * from where it can be re-driven onto T through the admin API.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FailedUserEventConsumer {
+
+    private final UserEventHandler userEventHandler;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @RetryableTopic(
+            attempts = "${kafka.retry.attempts:5}",
+            backoff = @Backoff(
+                    delayExpression = "${kafka.retry.initial-delay-ms:1000}",
+                    multiplierExpression = "${kafka.retry.multiplier:4.0}",
+                    maxDelayExpression = "${kafka.retry.max-delay-ms:300000}"),
+            retryTopicSuffix = RetryTopics.RETRY_SUFFIX,
+            dltTopicSuffix = RetryTopics.DLT_SUFFIX,
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            exclude = JsonProcessingException.class,
+            kafkaTemplate = "kafkaTemplate"
+    )
+    @KafkaListener(
+            topics = "${kafka.topic.user-registered}" + RetryTopics.FAILED_SUFFIX,
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "failedEventKafkaListenerContainerFactory"
+    )
+    public void retryUserRegisteredEvent(@Payload JsonNode payload) throws JsonProcessingException {
+        userEventHandler.handleRegistered(objectMapper.treeToValue(payload, UserRegisteredEvent.class));
+    }
+
+    @RetryableTopic(
+            attempts = "${kafka.retry.attempts:5}",
+            backoff = @Backoff(
+                    delayExpression = "${kafka.retry.initial-delay-ms:1000}",
+                    multiplierExpression = "${kafka.retry.multiplier:4.0}",
+                    maxDelayExpression = "${kafka.retry.max-delay-ms:300000}"),
+            retryTopicSuffix = RetryTopics.RETRY_SUFFIX,
+            dltTopicSuffix = RetryTopics.DLT_SUFFIX,
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            exclude = JsonProcessingException.class,
+            kafkaTemplate = "kafkaTemplate"
+    )
+    @KafkaListener(
+            topics = "${kafka.topic.user-deleted}" + RetryTopics.FAILED_SUFFIX,
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "failedEventKafkaListenerContainerFactory"
+    )
+    public void retryUserDeletedEvent(@Payload JsonNode payload) throws JsonProcessingException {
+        userEventHandler.handleDeleted(objectMapper.treeToValue(payload, UserDeletedEvent.class));
+    }
+
+    @RetryableTopic(
+            attempts = "${kafka.retry.attempts:5}",
+            backoff = @Backoff(
+                    delayExpression = "${kafka.retry.initial-delay-ms:1000}",
+                    multiplierExpression = "${kafka.retry.multiplier:4.0}",
+                    maxDelayExpression = "${kafka.retry.max-delay-ms:300000}"),
+            retryTopicSuffix = RetryTopics.RETRY_SUFFIX,
+            dltTopicSuffix = RetryTopics.DLT_SUFFIX,
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            exclude = JsonProcessingException.class,
+            kafkaTemplate = "kafkaTemplate"
+    )
+    @KafkaListener(
+            topics = "${kafka.topic.user-role-changed}" + RetryTopics.FAILED_SUFFIX,
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "failedEventKafkaListenerContainerFactory"
+    )
+    public void retryUserRoleChangedEvent(@Payload JsonNode payload) throws JsonProcessingException {
+        userEventHandler.handleRoleChanged(objectMapper.treeToValue(payload, UserRoleChangedEvent.class));
+    }
+
+    /**
+     * Retries exhausted: the record stays in the DLT until it is re-driven
+     */
+    @DltHandler
+    public void onDeadLetter(@Payload JsonNode payload, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        meterRegistry.counter("user.events.dead-lettered", "topic", topic).increment();
+        log.error("☠️ Event parked in {} after exhausting retries: {}", topic, payload);
+    }
+}
@@ -0,0 +1,103 @@
+package com.collabrix.user.kafka.consumer;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans consumed records out to a fixed set of lanes, each a single virtual thread.
+ *
+ * Records with the same key (the keycloakUserId) always hash to the same lane, so events
+ * for one user are applied in the order they arrived while different users are handled
+ * in parallel. The listener containers use async manual acks: a record is acknowledged
+ * when its lane finishes it, and the container only commits an offset once every earlier
+ * record in the partition has been acknowledged.
+ *
+ * A task that throws (the event could neither be applied nor moved to the retry path) is
+ * never acknowledged: the lane retries it in place with backoff, holding back the events
+ * queued behind it and the partition's commit. Nacking is not an option here because the
+ * container only accepts it on the consumer thread.
+ */
+@Slf4j
+@Component
+public class OrderedEventExecutor {
+
+    private final boolean enabled;
+    private final ExecutorService[] lanes;
+
+    @Value("${kafka.consumer.blocked-retry.initial-delay-ms:1000}")
+    private long retryInitialDelayMs;
+
+    @Value("${kafka.consumer.blocked-retry.max-delay-ms:30000}")
+    private long retryMaxDelayMs;
+
+    public OrderedEventExecutor(@Value("${kafka.consumer.ordered-parallel.enabled:true}") boolean enabled,
+                                @Value("${kafka.consumer.ordered-parallel.lanes:16}") int laneCount) {
+        this.enabled = enabled;
+        this.lanes = new ExecutorService[enabled ? laneCount : 0];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("user-events-lane-" + i).factory());
+        }
+        log.info("Kafka event processing: {}", enabled ? laneCount + " ordered lanes" : "inline on listener thread");
+    }
+
+    /**
+     * Run the task on the key's lane and acknowledge the record once it has succeeded.
+     * When the mode is disabled the task runs inline and a failure propagates to the
+     * container's error handler, which seeks back and redelivers the record.
+     */
+    public void execute(String key, Acknowledgment acknowledgment, Runnable task) {
+        if (!enabled) {
+            task.run();
+            acknowledgment.acknowledge();
+            return;
+        }
+        lanes[Math.floorMod(key == null ? 0 : key.hashCode(), lanes.length)]
+                .execute(() -> runUntilAcknowledged(key, acknowledgment, task));
+    }
+
+    private void runUntilAcknowledged(String key, Acknowledgment acknowledgment, Runnable task) {
+        long delay = retryInitialDelayMs;
+        while (true) {
+            try {
+                task.run();
+                acknowledgment.acknowledge();
+                return;
+            } catch (Exception ex) {
+                log.error("❌ Event for key {} not processed, retrying in {} ms", key, delay, ex);
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException ex) {
+                // Shutting down: left unacknowledged, so it is redelivered after restart
+                Thread.currentThread().interrupt();
+                log.warn("⚠️ Event for key {} left unacknowledged at shutdown", key);
+                return;
+            }
+            delay = Math.min(delay * 2, retryMaxDelayMs);
+        }
+    }
+
+    /**
+     * Let queued records finish; anything still unacknowledged is redelivered after restart
+     * and filtered by the event deduplicator
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("⚠️ Event lane did not drain before shutdown");
+                lane.shutdownNow();
+            }
+        }
+    }
+}
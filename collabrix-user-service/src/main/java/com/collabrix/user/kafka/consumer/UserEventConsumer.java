@@ -1,67 +1,82 @@
 package com.collabrix.user.kafka.consumer;
 
-import com.collabrix.user.dto.UserProfileResponse;
 import com.collabrix.user.kafka.events.UserDeletedEvent;
 import com.collabrix.user.kafka.events.UserRegisteredEvent;
 import com.collabrix.user.kafka.events.UserRoleChangedEvent;
-import com.collabrix.user.service.UserProfileService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.collabrix.user.metrics.EventMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 /**
  * Kafka consumer for user-related events from auth-service
  *
  * Listens to topics:
  * - user.registered: Creates new user profiles
  * - user.deleted: Soft deletes user profiles
- * - user.role.changed: Logs role changes (optional processing)
+ * - user.role.changed: Assigns / removes profile roles
+ *
+ * An event that fails here is moved to its topic's retry path (see {@link FailedUserEventConsumer})
+ * instead of being retried in place, so one failing user never holds up the partition.
+ * Only if the retry path cannot take it either does the record stay unacknowledged and
+ * get retried where it is.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class UserEventConsumer {
 
-    private final UserProfileService userProfileService;
-    private final ObjectMapper objectMapper;
+    private final UserEventHandler userEventHandler;
+    private final OrderedEventExecutor orderedEventExecutor;
+    private final FailedEventForwarder failedEventForwarder;
+    private final EventMetrics eventMetrics;
 
     /**
-     * Consume USER_REGISTERED events
-     * Creates a new user profile when a user registers in auth-service
+     * Consume USER_REGISTERED events in batches
+     * Creates new user profiles when users register in auth-service; a whole poll is
+     * written at once, so bulk onboarding does not cost a round trip per user
      */
     @KafkaListener(
             topics = "${kafka.topic.user-registered}",
             groupId = "${spring.kafka.consumer.group-id}",
             containerFactory = "userRegisteredKafkaListenerContainerFactory"
     )
-    public void consumeUserRegisteredEvent(
-            @Payload UserRegisteredEvent event,
-            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset) {
-
-        log.info("📨 Received USER_REGISTERED event from topic: {}, partition: {}, offset: {}",
-                topic, partition, offset);
+    public void consumeUserRegisteredEvents(List<ConsumerRecord<String, UserRegisteredEvent>> records) {
+        log.info("📨 Received {} USER_REGISTERED events (first: {}-{}@{})", records.size(),
+                records.get(0).topic(), records.get(0).partition(), records.get(0).offset());
 
-        log.info("🔍 Processing USER_REGISTERED event: eventId={}, username={}, email={}",
-                event.getEventId(), event.getUsername(), event.getEmail());
+        List<ConsumerRecord<String, UserRegisteredEvent>> valid = records.stream()
+                .filter(record -> Objects.nonNull(record.value()))
+                .collect(Collectors.toList());
 
         try {
-            // Create user profile
-            UserProfileResponse profile = userProfileService.createProfile(event);
-            log.info("✅ Successfully created profile for user: {} (ID: {})",
-                    profile.getUsername(), profile.getId());
+            List<UserRegisteredEvent> events = valid.stream().map(ConsumerRecord::value).collect(Collectors.toList());
+            eventMetrics.timed("registered", () -> userEventHandler.handleRegistered(events));
+            events.forEach(event -> eventMetrics.recordLag("registered", event.getTimestamp()));
         } catch (Exception ex) {
-            log.error("❌ Failed to process USER_REGISTERED event: {}", event, ex);
+            log.error("❌ Failed to process batch of {} USER_REGISTERED events, retrying one by one", valid.size(), ex);
+            valid.forEach(record -> {
+                try {
+                    eventMetrics.timed("registered", () -> userEventHandler.handleRegistered(record.value()));
+                    eventMetrics.recordLag("registered", record.value().getTimestamp());
+                } catch (Exception recordEx) {
+                    log.error("❌ Failed to process USER_REGISTERED event: {}", record.value(), recordEx);
+                    failedEventForwarder.forward(record.topic(), record.key(), record.value(), recordEx);
+                }
+            });
         }
     }
 
-
     /**
      * Consume USER_DELETED events
      * Soft deletes the user profile when user is deleted from auth-service
@@ -75,29 +90,27 @@ public class UserEventConsumer {
             @Payload UserDeletedEvent event,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset) {
+            @Header(KafkaHeaders.OFFSET) long offset,
+            Acknowledgment acknowledgment) {
 
         log.info("📨 Received USER_DELETED event from topic: {}, partition: {}, offset: {}",
                 topic, partition, offset);
 
-        try {
-            log.info("🔍 Processing USER_DELETED event: eventId={}, username={}, keycloakUserId={}",
-                    event.getEventId(), event.getUsername(), event.getKeycloakUserId());
-
-            // Soft delete user profile
-            userProfileService.deleteProfile(event.getKeycloakUserId());
-
-            log.info("✅ Successfully deleted profile for user: {} (ID: {})",
-                    event.getUsername(), event.getKeycloakUserId());
-
-        } catch (Exception ex) {
-            log.error("❌ Failed to process USER_DELETED event: {}",  event, ex);
-        }
+        // Same user, same lane: ordering per keycloakUserId holds, different users run in parallel
+        orderedEventExecutor.execute(event.getKeycloakUserId(), acknowledgment, () -> {
+            try {
+                eventMetrics.timed("deleted", () -> userEventHandler.handleDeleted(event));
+                eventMetrics.recordLag("deleted", event.getTimestamp());
+            } catch (Exception ex) {
+                log.error("❌ Failed to process USER_DELETED event: {}", event, ex);
+                failedEventForwarder.forward(topic, event.getKeycloakUserId(), event, ex);
+            }
+        });
     }
 
     /**
      * Consume USER_ROLE_CHANGED events
-     * Currently just logs the event, but can be extended for role-based profile updates
+     * Assigns or removes the role on the user's profile
      */
     @KafkaListener(
             topics = "${kafka.topic.user-role-changed}",
@@ -108,29 +121,21 @@ public class UserEventConsumer {
             @Payload UserRoleChangedEvent event,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset) {
+            @Header(KafkaHeaders.OFFSET) long offset,
+            Acknowledgment acknowledgment) {
 
         log.info("📨 Received USER_ROLE_CHANGED event from topic: {}, partition: {}, offset: {}",
                 topic, partition, offset);
 
-        try {
-            log.info("🔍 Processing USER_ROLE_CHANGED event: eventId={}, username={}, role={}, action={}",
-                    event.getEventId(), event.getUsername(), event.getRoleName(), event.getAction());
-
-            // Fetch user profile
-            UserProfileResponse response;
-            if ("ASSIGNED".equalsIgnoreCase(event.getAction())) {
-                response = userProfileService.addRole(event.getKeycloakUserId(), event.getRoleName());
-                log.info("✅ Role '{}' assigned to user {}", event.getRoleName(), event.getKeycloakUserId());
-            } else if ("REMOVED".equalsIgnoreCase(event.getAction())) {
-                response = userProfileService.removeRole(event.getKeycloakUserId(), event.getRoleName());
-                log.info("✅ Role '{}' removed from user {}", event.getRoleName(), event.getKeycloakUserId());
-            } else {
-                log.warn("⚠️ Unknown role action '{}' for user {}", event.getAction(), event.getKeycloakUserId());
+        // Same user, same lane: ordering per keycloakUserId holds, different users run in parallel
+        orderedEventExecutor.execute(event.getKeycloakUserId(), acknowledgment, () -> {
+            try {
+                eventMetrics.timed("role-changed", () -> userEventHandler.handleRoleChanged(event));
+                eventMetrics.recordLag("role-changed", event.getTimestamp());
+            } catch (Exception ex) {
+                log.error("❌ Failed to process USER_ROLE_CHANGED event: {}", event, ex);
+                failedEventForwarder.forward(topic, event.getKeycloakUserId(), event, ex);
             }
-
-        } catch (Exception ex) {
-            log.error("❌ Failed to process USER_ROLE_CHANGED event: {}", event, ex);
-        }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,121 @@
+package com.collabrix.user.kafka.consumer;
+
+import com.collabrix.user.dto.UserProfileResponse;
+import com.collabrix.user.kafka.events.UserDeletedEvent;
+import com.collabrix.user.kafka.events.UserRegisteredEvent;
+import com.collabrix.user.kafka.events.UserRoleChangedEvent;
+import com.collabrix.user.metrics.EventMetrics;
+import com.collabrix.user.repository.EventWatermarkRepository;
+import com.collabrix.user.service.UserProfileService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Applies user events from auth-service to profiles, at most once per eventId.
+ *
+ * Shared by the main listeners and the retry-topic listeners. Failures are thrown to
+ * the caller, which decides whether to hand the event to the retry path.
+ *
+ * A failed event is retried after later events for the same user have been applied from
+ * the main topic, so deletions and role changes are also checked against the user's
+ * watermark: one older than the newest applied event for the same profile (or the same
+ * role) is skipped instead of undoing it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserEventHandler {
+
+    private static final String LIFECYCLE_SCOPE = "lifecycle";
+    private static final String ROLE_SCOPE_PREFIX = "role:";
+
+    private final UserProfileService userProfileService;
+    private final EventDeduplicator eventDeduplicator;
+    private final EventWatermarkRepository eventWatermarkRepository;
+    private final EventMetrics eventMetrics;
+
+    public void handleRegistered(List<UserRegisteredEvent> events) {
+        // Create user profiles, skipping events already applied
+        eventDeduplicator.processAllOnce(events, UserRegisteredEvent::getEventId, fresh -> {
+            List<UserProfileResponse> created = userProfileService.createProfiles(fresh);
+            log.info("✅ Successfully created {} profiles from {} new events", created.size(), fresh.size());
+        });
+    }
+
+    public void handleRegistered(UserRegisteredEvent event) {
+        boolean processed = eventDeduplicator.processOnce(event.getEventId(), () -> {
+            UserProfileResponse profile = userProfileService.createProfile(event);
+            log.info("✅ Successfully created profile for user: {} (ID: {})",
+                    profile.getUsername(), profile.getId());
+        });
+        if (!processed) {
+            log.info("ℹ️ Skipping duplicate USER_REGISTERED event: {}", event.getEventId());
+        }
+    }
+
+    public void handleDeleted(UserDeletedEvent event) {
+        log.info("🔍 Processing USER_DELETED event: eventId={}, username={}, keycloakUserId={}",
+                event.getEventId(), event.getUsername(), event.getKeycloakUserId());
+
+        // Soft delete user profile, once per event and never over a newer lifecycle event
+        boolean processed = eventDeduplicator.processOnce(event.getEventId(), () -> {
+            if (isCurrent("deleted", event.getKeycloakUserId(), LIFECYCLE_SCOPE, event.getTimestamp())) {
+                userProfileService.deleteProfile(event.getKeycloakUserId());
+                log.info("✅ Successfully deleted profile for user: {} (ID: {})",
+                        event.getUsername(), event.getKeycloakUserId());
+            }
+        });
+
+        if (!processed) {
+            log.info("ℹ️ Skipping duplicate USER_DELETED event: {}", event.getEventId());
+        }
+    }
+
+    public void handleRoleChanged(UserRoleChangedEvent event) {
+        log.info("🔍 Processing USER_ROLE_CHANGED event: eventId={}, username={}, role={}, action={}",
+                event.getEventId(), event.getUsername(), event.getRoleName(), event.getAction());
+
+        if (!eventDeduplicator.processOnce(event.getEventId(), () -> applyRoleChange(event))) {
+            log.info("ℹ️ Skipping duplicate USER_ROLE_CHANGED event: {}", event.getEventId());
+        }
+    }
+
+    private void applyRoleChange(UserRoleChangedEvent event) {
+        String scope = ROLE_SCOPE_PREFIX + (event.getRoleName() == null ? "" : event.getRoleName().toUpperCase());
+        if (!isCurrent("role-changed", event.getKeycloakUserId(), scope, event.getTimestamp())) {
+            return;
+        }
+
+        if ("ASSIGNED".equalsIgnoreCase(event.getAction())) {
+            userProfileService.addRole(event.getKeycloakUserId(), event.getRoleName());
+            log.info("✅ Role '{}' assigned to user {}", event.getRoleName(), event.getKeycloakUserId());
+        } else if ("REMOVED".equalsIgnoreCase(event.getAction())) {
+            userProfileService.removeRole(event.getKeycloakUserId(), event.getRoleName());
+            log.info("✅ Role '{}' removed from user {}", event.getRoleName(), event.getKeycloakUserId());
+        } else {
+            log.warn("⚠️ Unknown role action '{}' for user {}", event.getAction(), event.getKeycloakUserId());
+        }
+    }
+
+    /**
+     * Advance the user's watermark for the scope, in the event's transaction
+     *
+     * @return false if a newer event for the same user and scope was already applied
+     */
+    private boolean isCurrent(String eventType, String userId, String scope, Long timestamp) {
+        if (timestamp == null || userId == null) {
+            // Nothing to order by; apply as before
+            return true;
+        }
+        if (eventWatermarkRepository.advance(userId, scope, timestamp)) {
+            return true;
+        }
+        eventMetrics.recordStale(eventType);
+        log.warn("⏭️ Skipping out-of-order {} event for user {} ({}): a newer one was already applied",
+                eventType, userId, scope);
+        return false;
+    }
+}
@@ -0,0 +1,20 @@
+package com.collabrix.user.kafka.events;
+
+import lombok.*;
+
+import java.util.Set;
+
+/**
+ * Broadcast between user-service replicas: drop any local copy of these profiles
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheInvalidationEvent {
+    private String eventId;
+    private String origin; // instance id of the replica that made the change
+    private Long timestamp;
+    private Set<String> userIds;
+    private Set<String> usernames;
+}
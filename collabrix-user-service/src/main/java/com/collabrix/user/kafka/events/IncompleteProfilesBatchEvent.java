@@ -0,0 +1,36 @@
+package com.collabrix.user.kafka.events;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Published by the incomplete-profile outreach job for the nudge mailer: one chunk of
+ * active users whose profile is not complete yet. eventId is stable per (run, sequence),
+ * so a chunk re-sent after a restart can be recognised as a duplicate.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IncompleteProfilesBatchEvent {
+    private String eventId;
+    private String eventType; // INCOMPLETE_PROFILES_BATCH
+    private String runId;
+    private Long sequence; // 0-based chunk number within the run
+    private Long timestamp;
+    private List<Recipient> recipients;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Recipient {
+        private String userId;
+        private String username;
+        private String email;
+        private String firstName;
+        private Integer completionPercentage;
+        private List<String> missingFields; // CompletionField properties, e.g. avatarUrl
+    }
+}
@@ -0,0 +1,54 @@
+package com.collabrix.user.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Consumer-side timings per event type:
+ * user.events.processing (handler time, by outcome) and
+ * user.events.lag (end-to-end: applied here minus the event's producer timestamp) and
+ * user.events.stale (events skipped because a newer one for the same user was applied first)
+ */
+@Component
+@RequiredArgsConstructor
+public class EventMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Run and time the work; failures are recorded and rethrown
+     */
+    public void timed(String eventType, Runnable work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            work.run();
+            outcome = "success";
+        } finally {
+            sample.stop(Timer.builder("user.events.processing")
+                    .tag("type", eventType)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    public void recordLag(String eventType, Long eventTimestamp) {
+        if (eventTimestamp == null) {
+            return;
+        }
+        Timer.builder("user.events.lag")
+                .tag("type", eventType)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - eventTimestamp)));
+    }
+
+    public void recordStale(String eventType) {
+        meterRegistry.counter("user.events.stale", "type", eventType).increment();
+    }
+}
@@ -0,0 +1,40 @@
+package com.collabrix.user.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Hibernate's own statistics, additionally attributed to the current request
+ * (see {@link Factory}; requires hibernate.generate_statistics=true)
+ */
+public class QueryCountingStatistics extends StatisticsImpl {
+
+    public QueryCountingStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        RequestQueryStats.entityLoaded();
+    }
+
+    @Override
+    public void fetchCollection(String collectionRole) {
+        super.fetchCollection(collectionRole);
+        RequestQueryStats.collectionFetched();
+    }
+
+    /**
+     * Referenced by class name from hibernate.stats.factory
+     */
+    public static class Factory implements StatisticsFactory {
+
+        @Override
+        public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+            return new QueryCountingStatistics(sessionFactory);
+        }
+    }
+}
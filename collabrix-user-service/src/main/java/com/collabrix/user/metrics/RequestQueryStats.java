@@ -0,0 +1,64 @@
+package com.collabrix.user.metrics;
+
+/**
+ * Database work done by the current request thread: JDBC statements prepared and
+ * Hibernate entity loads / collection fetches. Only counts between {@link #begin()}
+ * and {@link #end()}; everything else (schedulers, listeners) is ignored.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long entityLoads;
+    private long collectionFetches;
+
+    private RequestQueryStats() {
+    }
+
+    public static void begin() {
+        CURRENT.set(new RequestQueryStats());
+    }
+
+    /**
+     * Stop counting on this thread and return what was counted, or null if nothing was begun
+     */
+    public static RequestQueryStats end() {
+        RequestQueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    static void statementPrepared() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entityLoads++;
+        }
+    }
+
+    static void collectionFetched() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.collectionFetches++;
+        }
+    }
+
+    public long statements() {
+        return statements;
+    }
+
+    public long entityLoads() {
+        return entityLoads;
+    }
+
+    public long collectionFetches() {
+        return collectionFetches;
+    }
+}
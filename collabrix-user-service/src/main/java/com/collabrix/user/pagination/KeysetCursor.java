@@ -0,0 +1,39 @@
+package com.collabrix.user.pagination;
+
+import com.collabrix.user.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors handed out by paginated endpoints.
+ * A cursor wraps the last profile id of the previous page, so the next page
+ * is an index seek on the primary key (id > cursor) instead of an OFFSET scan.
+ */
+public final class KeysetCursor {
+
+    /** Sorts before every real id; used when no cursor was supplied. */
+    public static final String START = "";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(String lastId) {
+        if (lastId == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Invalid pagination cursor");
+        }
+    }
+}
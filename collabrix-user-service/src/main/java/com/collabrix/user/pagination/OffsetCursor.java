@@ -0,0 +1,36 @@
+package com.collabrix.user.pagination;
+
+import com.collabrix.user.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for relevance-ordered results, which have no stable key to seek on.
+ * Wraps the offset of the next page; callers cap the depth it may reach.
+ */
+public final class OffsetCursor {
+
+    private OffsetCursor() {
+    }
+
+    public static String encode(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Integer.toString(offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+            if (offset < 0) {
+                throw new InvalidRequestException("Invalid pagination cursor");
+            }
+            return offset;
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Invalid pagination cursor");
+        }
+    }
+}
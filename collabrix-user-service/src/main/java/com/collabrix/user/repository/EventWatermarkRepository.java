@@ -0,0 +1,33 @@
+package com.collabrix.user.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Newest producer timestamp applied per user and scope (user_event_watermarks, see schema.sql).
+ *
+ * Events for one user normally arrive in order, but one that failed comes back through the
+ * retry topics after later events for the same user were applied. Advancing the watermark in
+ * the event's own transaction lets the handler recognise such an event as stale.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventWatermarkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Move the watermark to the event's timestamp unless a newer event was already applied.
+     * The row lock orders concurrent events for the same user and scope.
+     *
+     * @return false if the event is older than what was applied and must be skipped
+     */
+    public boolean advance(String userId, String scope, long eventTimestamp) {
+        return jdbcTemplate.update("INSERT INTO user_event_watermarks (user_id, scope, event_timestamp) " +
+                        "VALUES (?, ?, ?) ON CONFLICT (user_id, scope) DO UPDATE " +
+                        "SET event_timestamp = EXCLUDED.event_timestamp " +
+                        "WHERE user_event_watermarks.event_timestamp <= EXCLUDED.event_timestamp",
+                userId, scope, eventTimestamp) > 0;
+    }
+}
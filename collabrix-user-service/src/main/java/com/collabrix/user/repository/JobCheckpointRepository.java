@@ -0,0 +1,113 @@
+package com.collabrix.user.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Checkpoints of resumable background jobs (job_checkpoints).
+ *
+ * A replica must hold the job's lease to run it: acquiring succeeds when the lease is
+ * free, expired or already its own, and every checkpoint write renews it. Writes made
+ * after the lease passed to another replica match no row, which tells the caller to stop.
+ * Lease times use the database clock, so replicas never compare their own clocks.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobCheckpointRepository {
+
+    private static final String COLUMNS =
+            "job_name, run_id, cursor_id, chunks, processed, run_started_at, completed_at";
+
+    private static final RowMapper<JobCheckpoint> CHECKPOINT_MAPPER = (rs, rowNum) -> new JobCheckpoint(
+            rs.getString("job_name"),
+            rs.getString("run_id"),
+            rs.getString("cursor_id"),
+            rs.getLong("chunks"),
+            rs.getLong("processed"),
+            toLocalDateTime(rs.getTimestamp("run_started_at")),
+            toLocalDateTime(rs.getTimestamp("completed_at")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Take (or renew) the job's lease
+     *
+     * @return the current checkpoint, or empty if another replica holds the lease
+     */
+    public Optional<JobCheckpoint> acquire(String jobName, String owner, Duration lease) {
+        jdbcTemplate.update("INSERT INTO job_checkpoints (job_name) VALUES (?) ON CONFLICT DO NOTHING", jobName);
+        return jdbcTemplate.query("UPDATE job_checkpoints SET lease_owner = ?, " +
+                        "lease_until = now() + ? * interval '1 millisecond' " +
+                        "WHERE job_name = ? AND (lease_until IS NULL OR lease_until < now() OR lease_owner = ?) " +
+                        "RETURNING " + COLUMNS,
+                CHECKPOINT_MAPPER, owner, lease.toMillis(), jobName, owner).stream().findFirst();
+    }
+
+    /**
+     * Begin a new run from the start of the key range, provided at least period has passed
+     * since the last run completed (by the database clock)
+     *
+     * @return the new run's checkpoint, or empty if the lease was lost or the run is not due
+     */
+    public Optional<JobCheckpoint> startRun(String jobName, String owner, String runId, Duration period,
+                                            Duration lease) {
+        return jdbcTemplate.query("UPDATE job_checkpoints SET run_id = ?, cursor_id = '', chunks = 0, processed = 0, " +
+                        "run_started_at = now(), completed_at = NULL, " +
+                        "lease_until = now() + ? * interval '1 millisecond' " +
+                        "WHERE job_name = ? AND lease_owner = ? " +
+                        "AND (completed_at IS NULL OR completed_at + ? * interval '1 millisecond' <= now()) " +
+                        "RETURNING " + COLUMNS,
+                CHECKPOINT_MAPPER, runId, lease.toMillis(), jobName, owner, period.toMillis()).stream().findFirst();
+    }
+
+    /**
+     * Record a finished chunk: everything up to cursorId has been handed off
+     *
+     * @return false if the lease was lost and the run must stop
+     */
+    public boolean advance(String jobName, String owner, String cursorId, long processedDelta, Duration lease) {
+        return jdbcTemplate.update("UPDATE job_checkpoints SET cursor_id = ?, chunks = chunks + 1, " +
+                        "processed = processed + ?, lease_until = now() + ? * interval '1 millisecond' " +
+                        "WHERE job_name = ? AND lease_owner = ?",
+                cursorId, processedDelta, lease.toMillis(), jobName, owner) > 0;
+    }
+
+    /**
+     * Mark the run finished; the next run starts from the beginning
+     */
+    public boolean complete(String jobName, String owner) {
+        return jdbcTemplate.update("UPDATE job_checkpoints SET cursor_id = NULL, completed_at = now() " +
+                "WHERE job_name = ? AND lease_owner = ?", jobName, owner) > 0;
+    }
+
+    /**
+     * Give the lease up so another replica can take over without waiting for it to expire
+     */
+    public void release(String jobName, String owner) {
+        jdbcTemplate.update("UPDATE job_checkpoints SET lease_owner = NULL, lease_until = NULL " +
+                "WHERE job_name = ? AND lease_owner = ?", jobName, owner);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * Progress of a job; cursorId is non-null exactly while a run is in progress
+     * ("" before its first chunk)
+     */
+    public record JobCheckpoint(String jobName, String runId, String cursorId, long chunks, long processed,
+                                LocalDateTime runStartedAt, LocalDateTime completedAt) {
+
+        public boolean inProgress() {
+            return cursorId != null;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.collabrix.user.repository;
+
+import com.collabrix.user.dto.OrganizationResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running member counts per organization (organization_statistics).
+ * Adjusted in the same transaction as each profile write and periodically
+ * reconciled against user_profiles, like the user_statistics row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrganizationStatisticsRepository {
+
+    private static final RowMapper<OrganizationResponse> ORGANIZATION_MAPPER = (rs, rowNum) ->
+            OrganizationResponse.builder()
+                    .organization(rs.getString("organization"))
+                    .totalMembers(rs.getLong("total_members"))
+                    .activeMembers(rs.getLong("active_members"))
+                    .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Add the deltas of many organizations in one upsert; rows are created on first use.
+     * Organizations are locked in name order so concurrent writers cannot deadlock.
+     */
+    public void applyDeltas(Map<String, MemberDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        String[] organizations = deltas.keySet().toArray(String[]::new);
+        Long[] totals = new Long[organizations.length];
+        Long[] actives = new Long[organizations.length];
+        for (int i = 0; i < organizations.length; i++) {
+            MemberDelta delta = deltas.get(organizations[i]);
+            totals[i] = delta.total();
+            actives[i] = delta.active();
+        }
+        jdbcTemplate.update("INSERT INTO organization_statistics (organization, total_members, active_members) " +
+                        "SELECT * FROM unnest(CAST(? AS varchar[]), CAST(? AS bigint[]), CAST(? AS bigint[])) " +
+                        "ORDER BY 1 " +
+                        "ON CONFLICT (organization) DO UPDATE SET " +
+                        "total_members = organization_statistics.total_members + EXCLUDED.total_members, " +
+                        "active_members = organization_statistics.active_members + EXCLUDED.active_members",
+                organizations, totals, actives);
+    }
+
+    /**
+     * Organizations with at least one member, in name order after afterOrganization,
+     * optionally restricted to names starting with prefix (case-insensitive)
+     */
+    public List<OrganizationResponse> findPage(String prefix, String afterOrganization, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return jdbcTemplate.query("SELECT organization, total_members, active_members " +
+                            "FROM organization_statistics WHERE total_members > 0 AND organization > ? " +
+                            "ORDER BY organization LIMIT ?",
+                    ORGANIZATION_MAPPER, afterOrganization, limit);
+        }
+        String pattern = prefix.strip().toLowerCase()
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return jdbcTemplate.query("SELECT organization, total_members, active_members " +
+                        "FROM organization_statistics WHERE total_members > 0 AND organization > ? " +
+                        "AND lower(organization) LIKE ? ESCAPE '\\' " +
+                        "ORDER BY organization LIMIT ?",
+                ORGANIZATION_MAPPER, afterOrganization, pattern, limit);
+    }
+
+    /**
+     * Replace every counter with exact figures from one aggregate over user_profiles.
+     * The table lock makes concurrent deltas wait, so none is lost between the
+     * aggregate and the write. Must run inside a transaction.
+     *
+     * @return number of organizations with members
+     */
+    public int reconcile() {
+        jdbcTemplate.execute("LOCK TABLE organization_statistics IN SHARE ROW EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM organization_statistics");
+        return jdbcTemplate.update("INSERT INTO organization_statistics (organization, total_members, active_members) " +
+                "SELECT organization, count(*), count(*) FILTER (WHERE active = true) FROM user_profiles " +
+                "WHERE organization IS NOT NULL AND organization <> '' GROUP BY organization");
+    }
+
+    public record MemberDelta(long total, long active) {
+
+        public MemberDelta plus(long totalDelta, long activeDelta) {
+            return new MemberDelta(total + totalDelta, active + activeDelta);
+        }
+
+        public boolean isZero() {
+            return total == 0 && active == 0;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.collabrix.user.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Ids of Kafka events that have already been applied (processed_events, see schema.sql)
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProcessedEventRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Record the event as processed
+     *
+     * @return false if it had been recorded before
+     */
+    public boolean claim(String eventId) {
+        return jdbcTemplate.update(
+                "INSERT INTO processed_events (event_id) VALUES (?) ON CONFLICT DO NOTHING", eventId) > 0;
+    }
+
+    /**
+     * Record many events as processed in one statement
+     *
+     * @return the ids that had not been recorded before
+     */
+    public Set<String> claimAll(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "INSERT INTO processed_events (event_id) SELECT * FROM unnest(CAST(? AS varchar[])) " +
+                "ON CONFLICT DO NOTHING RETURNING event_id",
+                String.class, (Object) eventIds.toArray(String[]::new)));
+    }
+
+    /**
+     * Delete up to {@code limit} ids recorded before the cutoff
+     */
+    public int deleteProcessedBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update(
+                "DELETE FROM processed_events WHERE event_id IN " +
+                "(SELECT event_id FROM processed_events WHERE processed_at < ? LIMIT ?)",
+                cutoff, limit);
+    }
+}
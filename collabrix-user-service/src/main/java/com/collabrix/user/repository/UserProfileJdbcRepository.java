@@ -0,0 +1,610 @@
+package com.collabrix.user.repository;
+
+import com.collabrix.user.dto.BulkProfileFilter;
+import com.collabrix.user.dto.FacetCount;
+import com.collabrix.user.dto.ProfileSearchFilter;
+import com.collabrix.user.dto.UserProfileResponse;
+import com.collabrix.user.entity.CompletionField;
+import com.collabrix.user.entity.ProfileField;
+import com.collabrix.user.entity.UserProfile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access to user_profiles for the paths where Hibernate's
+ * entity lifecycle is pure overhead (bulk reads and set-based writes).
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserProfileJdbcRepository {
+
+    /**
+     * Every user_profiles column of {@link UserProfileResponse}
+     */
+    public static final String BASE_COLUMNS =
+            "u.id, u.username, u.email, u.first_name, u.last_name, u.country_code, u.contact_no, " +
+            "u.organization, u.avatar_url, u.bio, u.linkedin_url, u.github_url, u.twitter_url, " +
+            "u.website_url, u.active, u.profile_completed, u.profile_completion_percentage, " +
+            "u.last_login_at, u.created_at, u.updated_at, u.version";
+
+    /**
+     * {@link #BASE_COLUMNS} plus roles folded into an array through the user_roles(user_id) index
+     */
+    public static final String PROFILE_COLUMNS =
+            BASE_COLUMNS + ", ARRAY(SELECT r.role FROM user_roles r WHERE r.user_id = u.id) AS roles";
+
+    private static final String SEARCH_SQL =
+            rankedPageSql("u.search_document LIKE :pattern ESCAPE '\\' OR :term <% u.search_document");
+
+    private static final RowMapper<ProfileKey> PROFILE_KEY_MAPPER =
+            (rs, rowNum) -> new ProfileKey(rs.getString("id"), rs.getString("username"), rs.getString("organization"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Streams profiles in id order through a server-side cursor.
+     * Must run inside a transaction: the PostgreSQL driver only honours the
+     * fetch size when autocommit is off, otherwise it buffers the whole result.
+     */
+    public void streamProfiles(boolean activeOnly, int fetchSize, Consumer<UserProfileResponse> sink) {
+        String sql = "SELECT " + PROFILE_COLUMNS + " FROM user_profiles u" +
+                (activeOnly ? " WHERE u.active = true" : "") +
+                " ORDER BY u.id";
+
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, rs -> {
+            sink.accept(UserProfileRowMapper.INSTANCE.mapRow(rs, rs.getRow()));
+        });
+    }
+
+    /**
+     * Ranked substring + fuzzy search over the trigram-indexed search_document column.
+     * Ordering by word distance (<<->) lets the GiST index hand back the best matches first.
+     * Every page ranks the same first {@code depth} matches and orders them by distance, then
+     * id, so equally distant rows keep their place across offset pages (see {@link #rankedPageSql}).
+     * Must run inside a transaction, since the similarity threshold is set transaction-locally.
+     */
+    public List<UserProfileResponse> searchProfiles(String term, double similarityThreshold,
+                                                    int depth, int offset, int limit) {
+        jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)",
+                String.class, Double.toString(similarityThreshold));
+
+        String normalized = term.toLowerCase();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("term", normalized)
+                .addValue("pattern", "%" + escapeLike(normalized) + "%")
+                .addValue("depth", depth)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        return namedParameterJdbcTemplate.query(SEARCH_SQL, params, UserProfileRowMapper.INSTANCE);
+    }
+
+    /**
+     * One page of the profiles matching a faceted search: best matches first when there is
+     * a search term (ranked like {@link #searchProfiles}), id order otherwise. Must run inside
+     * a transaction, like {@link #searchProfiles}.
+     */
+    public List<UserProfileResponse> searchFilteredProfiles(ProfileSearchFilter filter, double similarityThreshold,
+                                                            int depth, int offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("depth", depth)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        String condition = facetedSearchCondition(filter, similarityThreshold, params);
+        String sql = params.hasValue("term")
+                ? rankedPageSql(condition)
+                : "SELECT " + PROFILE_COLUMNS + " FROM user_profiles u WHERE " + condition +
+                  " ORDER BY u.id LIMIT :limit OFFSET :offset";
+        return namedParameterJdbcTemplate.query(sql, params, UserProfileRowMapper.INSTANCE);
+    }
+
+    /**
+     * A page of the first :depth rows matching the condition by word distance to :term.
+     *
+     * A plain ORDER BY distance, id can't be served by the GiST index (it orders by distance
+     * only), so PostgreSQL falls back to sorting every match. Instead the inner query takes
+     * the first :depth rows straight off the index, and only those are sorted with id as the
+     * tiebreaker. The inner query is identical for every page of a search, so all its pages
+     * slice the same ranked list.
+     */
+    private static String rankedPageSql(String condition) {
+        return "SELECT " + PROFILE_COLUMNS + " FROM (" +
+               "SELECT u.id, :term <<-> u.search_document AS distance FROM user_profiles u " +
+               "WHERE " + condition + " ORDER BY distance LIMIT :depth) ranked " +
+               "JOIN user_profiles u ON u.id = ranked.id " +
+               "ORDER BY ranked.distance, u.id LIMIT :limit OFFSET :offset";
+    }
+
+    /**
+     * Counts per facet value over every profile matching a faceted search, in one pass:
+     * the matches are grouped by organization, country, active flag and completion bucket
+     * with GROUPING SETS (the empty set giving the total), roles are counted through
+     * user_roles alongside (case-insensitively, like the role filter, and once per profile),
+     * and only the facetLimit most frequent values of each facet are kept.
+     * Must run inside a transaction, like {@link #searchProfiles}.
+     *
+     * @return facet name to value counts, most frequent first; the total is under "total"
+     */
+    public Map<String, List<FacetCount>> countFacets(ProfileSearchFilter filter, double similarityThreshold,
+                                                     int facetLimit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("facetLimit", facetLimit);
+        String condition = facetedSearchCondition(filter, similarityThreshold, params);
+        String sql = "WITH matched AS (" +
+                "SELECT u.id, u.organization, u.country_code, u.active, " +
+                "CASE WHEN u.profile_completion_percentage >= 100 THEN '100' " +
+                "WHEN u.profile_completion_percentage >= 75 THEN '75-99' " +
+                "WHEN u.profile_completion_percentage >= 50 THEN '50-74' " +
+                "WHEN u.profile_completion_percentage >= 25 THEN '25-49' ELSE '0-24' END AS completion " +
+                "FROM user_profiles u WHERE " + condition + "), " +
+                "counts AS (" +
+                "SELECT CASE WHEN GROUPING(organization) = 0 THEN 'organization' " +
+                "WHEN GROUPING(country_code) = 0 THEN 'countryCode' " +
+                "WHEN GROUPING(active) = 0 THEN 'active' " +
+                "WHEN GROUPING(completion) = 0 THEN 'completion' ELSE 'total' END AS facet, " +
+                "CASE WHEN GROUPING(organization) = 0 THEN organization " +
+                "WHEN GROUPING(country_code) = 0 THEN country_code " +
+                "WHEN GROUPING(active) = 0 THEN CAST(active AS varchar) " +
+                "ELSE completion END AS value, " +
+                "count(*) AS hits " +
+                "FROM matched GROUP BY GROUPING SETS ((organization), (country_code), (active), (completion), ()) " +
+                "UNION ALL " +
+                "SELECT 'role', upper(r.role), count(DISTINCT r.user_id) FROM matched " +
+                "JOIN user_roles r ON r.user_id = matched.id GROUP BY upper(r.role)) " +
+                "SELECT facet, value, hits FROM (" +
+                "SELECT facet, value, hits, row_number() OVER (PARTITION BY facet ORDER BY hits DESC, value) AS rank " +
+                "FROM counts) ranked WHERE rank <= :facetLimit ORDER BY facet, rank";
+
+        Map<String, List<FacetCount>> facets = new LinkedHashMap<>();
+        namedParameterJdbcTemplate.query(sql, params, rs -> {
+            facets.computeIfAbsent(rs.getString("facet"), facet -> new ArrayList<>())
+                    .add(new FacetCount(rs.getString("value"), rs.getLong("hits")));
+        });
+        return facets;
+    }
+
+    private String facetedSearchCondition(ProfileSearchFilter filter, double similarityThreshold,
+                                          MapSqlParameterSource params) {
+        StringJoiner conditions = new StringJoiner(" AND ");
+        conditions.add("true");
+        if (filter.getQ() != null && !filter.getQ().isBlank()) {
+            jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)",
+                    String.class, Double.toString(similarityThreshold));
+            String normalized = filter.getQ().strip().toLowerCase();
+            params.addValue("term", normalized).addValue("pattern", "%" + escapeLike(normalized) + "%");
+            conditions.add("(u.search_document LIKE :pattern ESCAPE '\\' OR :term <% u.search_document)");
+        }
+        if (filter.getOrganization() != null && !filter.getOrganization().isBlank()) {
+            params.addValue("organization", filter.getOrganization());
+            conditions.add("u.organization = :organization");
+        }
+        if (filter.getCountryCode() != null && !filter.getCountryCode().isBlank()) {
+            params.addValue("countryCode", filter.getCountryCode());
+            conditions.add("u.country_code = :countryCode");
+        }
+        if (filter.getRole() != null && !filter.getRole().isBlank()) {
+            params.addValue("role", filter.getRole().strip().toUpperCase());
+            conditions.add("EXISTS (SELECT 1 FROM user_roles r WHERE r.user_id = u.id AND upper(r.role) = :role)");
+        }
+        if (filter.getActive() != null) {
+            params.addValue("active", filter.getActive());
+            conditions.add("u.active = :active");
+        }
+        return conditions.toString();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Profiles matching any of the ids or usernames: one query for the rows,
+     * one for all of their roles
+     */
+    public List<UserProfileResponse> findByIdsOrUsernames(Collection<String> ids, Collection<String> usernames) {
+        List<UserProfileResponse> profiles = jdbcTemplate.query(
+                "SELECT " + BASE_COLUMNS + " FROM user_profiles u WHERE u.id = ANY(?) OR u.username = ANY(?)",
+                UserProfileRowMapper.WITHOUT_ROLES,
+                ids.toArray(String[]::new), usernames.toArray(String[]::new));
+        if (profiles.isEmpty()) {
+            return profiles;
+        }
+
+        Map<String, UserProfileResponse> byId = new LinkedHashMap<>();
+        profiles.forEach(profile -> byId.put(profile.getId(), profile));
+        jdbcTemplate.query("SELECT r.user_id, r.role FROM user_roles r WHERE r.user_id = ANY(?)",
+                rs -> {
+                    byId.get(rs.getString("user_id")).getRoles().add(rs.getString("role"));
+                },
+                (Object) byId.keySet().toArray(String[]::new));
+        return new ArrayList<>(byId.values());
+    }
+
+    // Keyset pages projected straight into response DTOs: seek past the last id, roles folded per row
+
+    public List<UserProfileResponse> findActivePage(String afterId, int limit) {
+        return findPage("u.active = true", new MapSqlParameterSource(), afterId, limit);
+    }
+
+    public List<UserProfileResponse> findOrganizationPage(String organization, String afterId, int limit) {
+        return findPage("u.organization = :organization",
+                new MapSqlParameterSource("organization", organization), afterId, limit);
+    }
+
+    public List<UserProfileResponse> findIncompletePage(String afterId, int limit) {
+        return findPage("u.profile_completed = false AND u.active = true", new MapSqlParameterSource(), afterId, limit);
+    }
+
+    /**
+     * The next chunk of active incomplete profiles after afterId, only the columns the
+     * outreach mailer needs; a seek on the partial incomplete-and-active index
+     */
+    public List<OutreachCandidate> findOutreachCandidates(String afterId, int limit) {
+        return jdbcTemplate.query("SELECT id, username, email, first_name, profile_completion_percentage, " +
+                        "completion_mask FROM user_profiles " +
+                        "WHERE profile_completed = false AND active = true AND id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new OutreachCandidate(
+                        rs.getString("id"),
+                        rs.getString("username"),
+                        rs.getString("email"),
+                        rs.getString("first_name"),
+                        rs.getInt("profile_completion_percentage"),
+                        rs.getObject("completion_mask", Short.class)),
+                afterId, limit);
+    }
+
+    public List<UserProfileResponse> findMissingFieldPage(CompletionField field, String afterId, int limit) {
+        return findPage("u.active = true AND (u.completion_mask & :bit) = 0",
+                new MapSqlParameterSource("bit", field.bit()), afterId, limit);
+    }
+
+    private List<UserProfileResponse> findPage(String condition, MapSqlParameterSource params, String afterId, int limit) {
+        String sql = "SELECT " + PROFILE_COLUMNS + " FROM user_profiles u " +
+                "WHERE " + condition + " AND u.id > :afterId ORDER BY u.id LIMIT :limit";
+        params.addValue("afterId", afterId).addValue("limit", limit);
+        return namedParameterJdbcTemplate.query(sql, params, UserProfileRowMapper.INSTANCE);
+    }
+
+    /**
+     * Active profiles per distinct completion mask. At most 2^11 groups, read from the
+     * completion_mask index alone, so per-field "missing" counts cost one index-only scan.
+     */
+    public Map<Short, Long> countActiveByCompletionMask() {
+        Map<Short, Long> counts = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT completion_mask, count(*) AS profiles FROM user_profiles " +
+                        "WHERE active = true AND completion_mask IS NOT NULL GROUP BY completion_mask",
+                rs -> {
+                    counts.put(rs.getShort("completion_mask"), rs.getLong("profiles"));
+                });
+        return counts;
+    }
+
+    /**
+     * Compute completion_mask for up to limit rows that predate it. Derived data only:
+     * neither the version nor updated_at move, and rows locked by a writer are skipped.
+     */
+    public int backfillCompletionMasks(int limit) {
+        return jdbcTemplate.update("UPDATE user_profiles u SET completion_mask = " + completionMaskExpression(Map.of()) +
+                " WHERE u.id IN (SELECT id FROM user_profiles WHERE completion_mask IS NULL LIMIT ? FOR UPDATE SKIP LOCKED)",
+                limit);
+    }
+
+    /**
+     * SQL for {@link CompletionField#maskOf}: one bit per non-empty column, reading
+     * overridden columns from the given expressions instead of u.column
+     */
+    private static String completionMaskExpression(Map<String, String> overrides) {
+        return "CAST(" + String.join(" + ", Arrays.stream(CompletionField.values())
+                .map(field -> "(CASE WHEN coalesce(" + overrides.getOrDefault(field.getColumn(), "u." + field.getColumn()) +
+                        ", '') <> '' THEN " + field.bit() + " ELSE 0 END)")
+                .toList()) + " AS smallint)";
+    }
+
+    /**
+     * Write many last-login timestamps in one statement. Never moves a timestamp backwards
+     * and leaves updated_at alone, since a login is not a profile edit.
+     */
+    public int updateLastLoginTimes(Map<String, LocalDateTime> lastLoginByUserId) {
+        if (lastLoginByUserId.isEmpty()) {
+            return 0;
+        }
+        StringJoiner values = new StringJoiner(", ");
+        List<Object> args = new ArrayList<>(lastLoginByUserId.size() * 2);
+        lastLoginByUserId.forEach((userId, lastLoginAt) -> {
+            values.add("(CAST(? AS varchar), CAST(? AS timestamp))");
+            args.add(userId);
+            args.add(lastLoginAt);
+        });
+        String sql = "UPDATE user_profiles u SET last_login_at = v.ts FROM (VALUES " + values + ") AS v(id, ts) " +
+                "WHERE u.id = v.id AND (u.last_login_at IS NULL OR u.last_login_at < v.ts)";
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    /**
+     * Insert new profiles and their roles with one statement each: the rows are sent as
+     * parallel arrays and expanded server-side with unnest. Rows whose id already exists
+     * (replays) are skipped. A new id clashing on username or email fails the whole
+     * statement, so the caller's per-record fallback can isolate it and send it to the retry
+     * path instead of dropping it silently.
+     *
+     * @return ids of the profiles actually inserted
+     */
+    public Set<String> insertProfilesIfAbsent(List<UserProfile> profiles, LocalDateTime createdAt) {
+        if (profiles.isEmpty()) {
+            return Set.of();
+        }
+        int size = profiles.size();
+        String[] ids = new String[size];
+        String[] usernames = new String[size];
+        String[] emails = new String[size];
+        String[] firstNames = new String[size];
+        String[] lastNames = new String[size];
+        String[] countryCodes = new String[size];
+        String[] contactNumbers = new String[size];
+        String[] organizations = new String[size];
+        Boolean[] completed = new Boolean[size];
+        Integer[] percentages = new Integer[size];
+        Short[] completionMasks = new Short[size];
+        for (int i = 0; i < size; i++) {
+            UserProfile profile = profiles.get(i);
+            ids[i] = profile.getId();
+            usernames[i] = profile.getUsername();
+            emails[i] = profile.getEmail();
+            firstNames[i] = profile.getFirstName();
+            lastNames[i] = profile.getLastName();
+            countryCodes[i] = profile.getCountryCode();
+            contactNumbers[i] = profile.getContactNo();
+            organizations[i] = profile.getOrganization();
+            completed[i] = profile.getProfileCompleted();
+            percentages[i] = profile.getProfileCompletionPercentage();
+            completionMasks[i] = profile.getCompletionMask();
+        }
+
+        List<String> insertedIds = jdbcTemplate.queryForList(
+                "INSERT INTO user_profiles (id, username, email, first_name, last_name, country_code, contact_no, " +
+                "organization, active, profile_completed, profile_completion_percentage, completion_mask, " +
+                "created_at, updated_at, version) " +
+                "SELECT v.id, v.username, v.email, v.first_name, v.last_name, v.country_code, v.contact_no, " +
+                "v.organization, true, v.completed, v.percentage, v.mask, CAST(? AS timestamp), CAST(? AS timestamp), 0 " +
+                "FROM unnest(CAST(? AS varchar[]), CAST(? AS varchar[]), CAST(? AS varchar[]), CAST(? AS varchar[]), " +
+                "CAST(? AS varchar[]), CAST(? AS varchar[]), CAST(? AS varchar[]), CAST(? AS varchar[]), " +
+                "CAST(? AS boolean[]), CAST(? AS integer[]), CAST(? AS smallint[])) " +
+                "AS v(id, username, email, first_name, last_name, country_code, contact_no, organization, " +
+                "completed, percentage, mask) " +
+                "ON CONFLICT (id) DO NOTHING RETURNING id",
+                String.class,
+                createdAt, createdAt,
+                ids, usernames, emails, firstNames, lastNames, countryCodes, contactNumbers, organizations,
+                completed, percentages, completionMasks);
+
+        Set<String> inserted = new LinkedHashSet<>(insertedIds);
+        List<String> roleUserIds = new ArrayList<>();
+        List<String> roles = new ArrayList<>();
+        for (UserProfile profile : profiles) {
+            if (inserted.contains(profile.getId())) {
+                profile.getRoles().forEach(role -> {
+                    roleUserIds.add(profile.getId());
+                    roles.add(role);
+                });
+            }
+        }
+        if (!roles.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO user_roles (user_id, role) SELECT * FROM unnest(CAST(? AS varchar[]), CAST(? AS varchar[]))",
+                    roleUserIds.toArray(String[]::new), roles.toArray(String[]::new));
+        }
+        return inserted;
+    }
+
+    /**
+     * Apply field changes to an active profile in one round trip: the CTE locks the row and
+     * captures the completion state the statistics need, the UPDATE writes only the changed
+     * columns plus the recomputed completion, bumps the version and returns the new row.
+     *
+     * @param expectedVersions versions the caller's If-Match accepts, or null for any
+     * @return empty if no active profile with that id (and one of those versions) exists
+     */
+    public Optional<PatchedProfile> patchProfile(String userId, Map<ProfileField, String> changes,
+                                                 Collection<Long> expectedVersions, LocalDateTime updatedAt) {
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        String versionCondition = "";
+        if (expectedVersions != null) {
+            versionCondition = " AND version = ANY(CAST(? AS bigint[]))";
+            args.add(expectedVersions.toArray(Long[]::new));
+        }
+        args.add(updatedAt);
+
+        StringJoiner assignments = new StringJoiner(", ");
+        StringJoiner values = new StringJoiner(", ");
+        StringJoiner valueColumns = new StringJoiner(", ");
+        Map<String, String> newValues = new LinkedHashMap<>();
+        changes.forEach((field, value) -> {
+            assignments.add(field.getColumn() + " = v." + field.getColumn());
+            values.add("CAST(? AS varchar)");
+            valueColumns.add(field.getColumn());
+            newValues.put(field.getColumn(), "v." + field.getColumn());
+            args.add(value);
+        });
+
+        // Same arithmetic as UserProfile#calculateProfileCompletion, over the post-update values
+        String mask = completionMaskExpression(newValues);
+        String filled = "(" + String.join(" + ", Arrays.stream(CompletionField.values())
+                .map(field -> "(CASE WHEN coalesce(" + newValues.getOrDefault(field.getColumn(), "u." + field.getColumn()) +
+                        ", '') <> '' THEN 1 ELSE 0 END)")
+                .toList()) + " + " + CompletionField.ALWAYS_FILLED + ")";
+        String percentage = filled + " * 100 / " + CompletionField.TOTAL_FIELDS;
+
+        String sql = "WITH previous AS (" +
+                "SELECT id, profile_completed, profile_completion_percentage, organization FROM user_profiles " +
+                "WHERE id = ? AND active = true" + versionCondition + " FOR UPDATE) " +
+                "UPDATE user_profiles u SET " + assignments + ", " +
+                "profile_completion_percentage = " + percentage + ", " +
+                "profile_completed = " + percentage + " >= 80, " +
+                "completion_mask = " + mask + ", " +
+                "version = u.version + 1, updated_at = CAST(? AS timestamp) " +
+                "FROM previous, (VALUES (" + values + ")) AS v(" + valueColumns + ") " +
+                "WHERE u.id = previous.id " +
+                "RETURNING " + PROFILE_COLUMNS + ", " +
+                "previous.profile_completed AS previous_completed, " +
+                "previous.profile_completion_percentage AS previous_percentage, " +
+                "previous.organization AS previous_organization";
+
+        List<PatchedProfile> patched = jdbcTemplate.query(sql, (rs, rowNum) -> new PatchedProfile(
+                UserProfileRowMapper.INSTANCE.mapRow(rs, rowNum),
+                rs.getBoolean("previous_completed"),
+                rs.getInt("previous_percentage"),
+                rs.getString("previous_organization")), args.toArray());
+        return patched.stream().findFirst();
+    }
+
+    // Bulk admin operations: each call locks, changes and returns up to limit matching profiles
+    // in one statement. A changed profile no longer matches, so the caller repeats the call
+    // until a chunk comes back short; id order keeps lock acquisition deadlock-free.
+
+    /**
+     * Switch up to limit matching profiles that are not already in the target state
+     */
+    public List<ProfileKey> setActiveChunk(BulkProfileFilter filter, boolean active, int limit,
+                                           LocalDateTime updatedAt) {
+        List<Object> args = new ArrayList<>();
+        String chunk = "SELECT u.id FROM user_profiles u WHERE " + filterCondition(filter, args) +
+                " AND u.active = ? ORDER BY u.id LIMIT ? FOR UPDATE";
+        args.addAll(List.of(!active, limit, active, updatedAt));
+
+        return jdbcTemplate.query("WITH chunk AS (" + chunk + ") " +
+                "UPDATE user_profiles u SET active = ?, version = u.version + 1, updated_at = CAST(? AS timestamp) " +
+                "FROM chunk WHERE u.id = chunk.id RETURNING u.id, u.username, u.organization",
+                PROFILE_KEY_MAPPER, args.toArray());
+    }
+
+    /**
+     * Add the role to up to limit matching profiles that do not hold it yet (INSERT ... SELECT)
+     */
+    public List<ProfileKey> grantRoleChunk(BulkProfileFilter filter, String role, int limit) {
+        List<Object> args = new ArrayList<>();
+        String chunk = "SELECT u.id FROM user_profiles u WHERE " + filterCondition(filter, args) +
+                " AND NOT EXISTS (SELECT 1 FROM user_roles r WHERE r.user_id = u.id AND upper(r.role) = ?)" +
+                " ORDER BY u.id LIMIT ? FOR UPDATE";
+        args.addAll(List.of(role, limit, role));
+
+        return jdbcTemplate.query("WITH chunk AS (" + chunk + "), " +
+                "granted AS (INSERT INTO user_roles (user_id, role) SELECT chunk.id, ? FROM chunk RETURNING user_id) " +
+                "UPDATE user_profiles u SET version = u.version + 1 " +
+                "FROM granted WHERE u.id = granted.user_id RETURNING u.id, u.username, u.organization",
+                PROFILE_KEY_MAPPER, args.toArray());
+    }
+
+    /**
+     * Remove the role (in any letter case) from up to limit matching profiles that hold it
+     */
+    public List<ProfileKey> revokeRoleChunk(BulkProfileFilter filter, String role, int limit) {
+        List<Object> args = new ArrayList<>();
+        String chunk = "SELECT u.id FROM user_profiles u WHERE " + filterCondition(filter, args) +
+                " AND EXISTS (SELECT 1 FROM user_roles r WHERE r.user_id = u.id AND upper(r.role) = ?)" +
+                " ORDER BY u.id LIMIT ? FOR UPDATE";
+        args.addAll(List.of(role, limit, role));
+
+        return jdbcTemplate.query("WITH chunk AS (" + chunk + "), " +
+                "revoked AS (DELETE FROM user_roles r USING chunk WHERE r.user_id = chunk.id AND upper(r.role) = ? " +
+                "RETURNING r.user_id) " +
+                "UPDATE user_profiles u SET version = u.version + 1 " +
+                "FROM (SELECT DISTINCT user_id FROM revoked) d WHERE u.id = d.user_id " +
+                "RETURNING u.id, u.username, u.organization",
+                PROFILE_KEY_MAPPER, args.toArray());
+    }
+
+    /**
+     * Permanently delete up to limit profiles deactivated before the cutoff, roles and event
+     * watermarks included, in one statement. Rows a concurrent writer holds (e.g. a
+     * reactivation) are skipped.
+     */
+    public List<PurgedProfile> purgeInactiveChunk(LocalDateTime deactivatedBefore, int limit) {
+        return jdbcTemplate.query("WITH chunk AS (SELECT id FROM user_profiles " +
+                        "WHERE active = false AND updated_at < CAST(? AS timestamp) " +
+                        "ORDER BY updated_at LIMIT ? FOR UPDATE SKIP LOCKED), " +
+                        "roles AS (DELETE FROM user_roles r USING chunk WHERE r.user_id = chunk.id), " +
+                        "watermarks AS (DELETE FROM user_event_watermarks w USING chunk WHERE w.user_id = chunk.id) " +
+                        "DELETE FROM user_profiles u WHERE u.id IN (SELECT id FROM chunk) " +
+                        "RETURNING u.id, u.username, u.organization, u.active, u.profile_completed, " +
+                        "u.profile_completion_percentage",
+                (rs, rowNum) -> new PurgedProfile(
+                        rs.getString("id"),
+                        rs.getString("username"),
+                        rs.getString("organization"),
+                        rs.getBoolean("active"),
+                        rs.getBoolean("profile_completed"),
+                        rs.getInt("profile_completion_percentage")),
+                deactivatedBefore, limit);
+    }
+
+    private static String filterCondition(BulkProfileFilter filter, List<Object> args) {
+        StringJoiner conditions = new StringJoiner(" AND ", "(", ")");
+        conditions.add("true");
+        if (filter.getOrganization() != null && !filter.getOrganization().isBlank()) {
+            conditions.add("u.organization = ?");
+            args.add(filter.getOrganization());
+        }
+        if (filter.getCountryCode() != null && !filter.getCountryCode().isBlank()) {
+            conditions.add("u.country_code = ?");
+            args.add(filter.getCountryCode());
+        }
+        if (filter.getUserIds() != null && !filter.getUserIds().isEmpty()) {
+            conditions.add("u.id = ANY(?)");
+            args.add(filter.getUserIds().toArray(String[]::new));
+        }
+        if (filter.getRole() != null && !filter.getRole().isBlank()) {
+            conditions.add("EXISTS (SELECT 1 FROM user_roles fr WHERE fr.user_id = u.id AND upper(fr.role) = ?)");
+            args.add(filter.getRole().toUpperCase());
+        }
+        return conditions.toString();
+    }
+
+    /**
+     * Identity of a profile touched by a bulk operation, enough to evict and re-index it,
+     * plus its organization for the per-organization counters
+     */
+    public record ProfileKey(String id, String username, String organization) {
+    }
+
+    /**
+     * An active incomplete profile as seen by the outreach job
+     */
+    public record OutreachCandidate(String id, String username, String email, String firstName,
+                                    int completionPercentage, Short completionMask) {
+    }
+
+    /**
+     * A profile removed by {@link #purgeInactiveChunk}, with the fields the counters depend on
+     */
+    public record PurgedProfile(String id, String username, String organization, boolean active,
+                                boolean profileCompleted, int completionPercentage) {
+    }
+
+    /**
+     * A profile as written by {@link #patchProfile}, with its completion state and organization
+     * from before the write
+     */
+    public record PatchedProfile(UserProfileResponse profile, boolean previouslyCompleted,
+                                 int previousCompletionPercentage, String previousOrganization) {
+    }
+}
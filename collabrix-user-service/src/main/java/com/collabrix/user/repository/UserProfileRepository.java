@@ -1,11 +1,15 @@
 package com.collabrix.user.repository;
 
+import com.collabrix.user.dto.UserSuggestionResponse;
 import com.collabrix.user.entity.UserProfile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,13 +31,6 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, String
 
     List<UserProfile> findByOrganization(String organization);
 
-    @Query("SELECT u FROM UserProfile u WHERE " +
-            "LOWER(u.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<UserProfile> searchUsers(@Param("searchTerm") String searchTerm);
-
     @Query("SELECT u FROM UserProfile u WHERE u.profileCompleted = false AND u.active = true")
     List<UserProfile> findUsersWithIncompleteProfiles();
 
@@ -42,4 +39,24 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, String
     long countByActiveTrue();
 
     long countByProfileCompletedTrue();
-}
\ No newline at end of file
+
+    @Query("SELECT new com.collabrix.user.dto.UserSuggestionResponse(u.id, u.username, u.firstName, u.lastName, u.avatarUrl) " +
+            "FROM UserProfile u WHERE u.active = true AND u.id > :afterId ORDER BY u.id ASC")
+    List<UserSuggestionResponse> findActiveSuggestionPage(@Param("afterId") String afterId, Pageable pageable);
+
+    @Query("SELECT new com.collabrix.user.dto.UserSuggestionResponse(u.id, u.username, u.firstName, u.lastName, u.avatarUrl) " +
+            "FROM UserProfile u WHERE u.active = true AND u.id IN :ids")
+    List<UserSuggestionResponse> findActiveSuggestionsByIds(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT u.version AS version, u.lastLoginAt AS lastLoginAt FROM UserProfile u WHERE u.id = :id")
+    Optional<ProfileVersion> findVersionById(@Param("id") String id);
+
+    /**
+     * The columns a profile's ETag is derived from
+     */
+    interface ProfileVersion {
+        Long getVersion();
+
+        LocalDateTime getLastLoginAt();
+    }
+}
@@ -0,0 +1,67 @@
+package com.collabrix.user.repository;
+
+import com.collabrix.user.dto.UserProfileResponse;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps a user_profiles row (selected with {@link UserProfileJdbcRepository#PROFILE_COLUMNS}
+ * or {@link UserProfileJdbcRepository#BASE_COLUMNS}) straight into the response DTO,
+ * without hydrating a managed entity
+ */
+public class UserProfileRowMapper implements RowMapper<UserProfileResponse> {
+
+    /** For rows selected with PROFILE_COLUMNS, which carry a roles array */
+    public static final UserProfileRowMapper INSTANCE = new UserProfileRowMapper(true);
+
+    /** For rows selected with BASE_COLUMNS; roles are left empty for the caller to fill */
+    public static final UserProfileRowMapper WITHOUT_ROLES = new UserProfileRowMapper(false);
+
+    private final boolean includesRoles;
+
+    private UserProfileRowMapper(boolean includesRoles) {
+        this.includesRoles = includesRoles;
+    }
+
+    @Override
+    public UserProfileResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return UserProfileResponse.builder()
+                .id(rs.getString("id"))
+                .username(rs.getString("username"))
+                .email(rs.getString("email"))
+                .firstName(rs.getString("first_name"))
+                .lastName(rs.getString("last_name"))
+                .countryCode(rs.getString("country_code"))
+                .contactNo(rs.getString("contact_no"))
+                .organization(rs.getString("organization"))
+                .avatarUrl(rs.getString("avatar_url"))
+                .bio(rs.getString("bio"))
+                .linkedinUrl(rs.getString("linkedin_url"))
+                .githubUrl(rs.getString("github_url"))
+                .twitterUrl(rs.getString("twitter_url"))
+                .websiteUrl(rs.getString("website_url"))
+                .roles(includesRoles ? toList(rs.getArray("roles")) : new ArrayList<>())
+                .active(rs.getBoolean("active"))
+                .profileCompleted(rs.getBoolean("profile_completed"))
+                .profileCompletionPercentage(rs.getInt("profile_completion_percentage"))
+                .lastLoginAt(rs.getObject("last_login_at", LocalDateTime.class))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .version(rs.getLong("version"))
+                .build();
+    }
+
+    private static List<String> toList(Array array) throws SQLException {
+        if (array == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(Arrays.asList((String[]) array.getArray()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.collabrix.user.repository;
+
+import com.collabrix.user.entity.UserStatistics;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for the running user statistics row
+ */
+@Repository
+public interface UserStatisticsRepository extends JpaRepository<UserStatistics, Integer> {
+
+    @Modifying
+    @Query("UPDATE UserStatistics s SET " +
+            "s.totalUsers = s.totalUsers + :totalDelta, " +
+            "s.activeUsers = s.activeUsers + :activeDelta, " +
+            "s.completedProfiles = s.completedProfiles + :completedDelta, " +
+            "s.completionSum = s.completionSum + :completionSumDelta " +
+            "WHERE s.id = :id")
+    int applyDelta(@Param("id") Integer id,
+                   @Param("totalDelta") long totalDelta,
+                   @Param("activeDelta") long activeDelta,
+                   @Param("completedDelta") long completedDelta,
+                   @Param("completionSumDelta") long completionSumDelta);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserStatistics s WHERE s.id = :id")
+    Optional<UserStatistics> findByIdForUpdate(@Param("id") Integer id);
+
+    /**
+     * Exact totals in one aggregate pass over user_profiles, without loading any entity
+     */
+    @Query("SELECT COUNT(u) AS totalUsers, " +
+            "COALESCE(SUM(CASE WHEN u.active = true THEN 1 ELSE 0 END), 0) AS activeUsers, " +
+            "COALESCE(SUM(CASE WHEN u.profileCompleted = true THEN 1 ELSE 0 END), 0) AS completedProfiles, " +
+            "COALESCE(SUM(u.profileCompletionPercentage), 0) AS completionSum " +
+            "FROM UserProfile u")
+    Totals computeTotals();
+
+    interface Totals {
+        Long getTotalUsers();
+
+        Long getActiveUsers();
+
+        Long getCompletedProfiles();
+
+        Long getCompletionSum();
+    }
+}
@@ -0,0 +1,193 @@
+package com.collabrix.user.search;
+
+import com.collabrix.user.dto.UserProfileResponse;
+import com.collabrix.user.dto.UserSuggestionResponse;
+import com.collabrix.user.event.ProfileChangedEvent;
+import com.collabrix.user.event.ProfilesBulkChangedEvent;
+import com.collabrix.user.repository.UserProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory prefix index over username, first name and last name of active profiles.
+ *
+ * Entries live in a sorted map keyed by "token \0 userId", so a prefix lookup is a
+ * single tailMap seek followed by a short in-order walk - no database round trip.
+ * Built once at startup and kept current from {@link ProfileChangedEvent}s.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSuggestionIndex {
+
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final UserProfileRepository userProfileRepository;
+
+    private final ConcurrentSkipListMap<String, UserSuggestionResponse> entries = new ConcurrentSkipListMap<>();
+    private final Map<String, List<String>> keysByUser = new ConcurrentHashMap<>();
+
+    @Value("${user.suggest.rebuild-page-size:1000}")
+    private int rebuildPageSize;
+
+    /**
+     * Load all active profiles in keyset pages so startup memory stays bounded
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        String afterId = "";
+        int loaded = 0;
+
+        while (true) {
+            List<UserSuggestionResponse> page = userProfileRepository.findActiveSuggestionPage(
+                    afterId, PageRequest.of(0, rebuildPageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            // Live updates may already have indexed a newer version of the user; keep that one
+            page.forEach(suggestion -> keysByUser.computeIfAbsent(suggestion.getId(), id -> index(suggestion)));
+            loaded += page.size();
+            afterId = page.get(page.size() - 1).getId();
+        }
+
+        log.info("✅ Suggestion index built with {} users ({} keys) in {} ms",
+                loaded, entries.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    @TransactionalEventListener
+    public void onProfileChanged(ProfileChangedEvent event) {
+        UserProfileResponse profile = event.getProfile();
+        if (profile == null || !Boolean.TRUE.equals(profile.getActive())) {
+            remove(event.getUserId());
+        } else {
+            upsert(profile);
+        }
+    }
+
+    /**
+     * Suggestions only carry names and avatar, so a bulk change matters when it
+     * moves users in or out of the active set
+     */
+    @TransactionalEventListener
+    public void onProfilesBulkChanged(ProfilesBulkChangedEvent event) {
+        switch (event.getChangeType()) {
+            case DEACTIVATED, DELETED -> event.getUserIds().forEach(this::remove);
+            case REACTIVATED -> refresh(event.getUserIds());
+            default -> {
+            }
+        }
+    }
+
+    public void upsert(UserProfileResponse profile) {
+        upsert(UserSuggestionResponse.builder()
+                .id(profile.getId())
+                .username(profile.getUsername())
+                .firstName(profile.getFirstName())
+                .lastName(profile.getLastName())
+                .avatarUrl(profile.getAvatarUrl())
+                .build());
+    }
+
+    public void upsert(UserSuggestionResponse suggestion) {
+        keysByUser.compute(suggestion.getId(), (id, previousKeys) -> {
+            if (previousKeys != null) {
+                previousKeys.forEach(entries::remove);
+            }
+            return index(suggestion);
+        });
+    }
+
+    /**
+     * Re-read the given users after another replica changed them
+     */
+    public void refresh(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Set<String> stillActive = new HashSet<>();
+        for (UserSuggestionResponse suggestion : userProfileRepository.findActiveSuggestionsByIds(userIds)) {
+            upsert(suggestion);
+            stillActive.add(suggestion.getId());
+        }
+        userIds.stream().filter(id -> !stillActive.contains(id)).forEach(this::remove);
+    }
+
+    public void remove(String userId) {
+        keysByUser.computeIfPresent(userId, (id, keys) -> {
+            keys.forEach(entries::remove);
+            return null;
+        });
+    }
+
+    /**
+     * Users whose username, first name, last name or full name starts with the prefix,
+     * ordered by the matching token
+     */
+    public List<UserSuggestionResponse> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, UserSuggestionResponse> matches = new LinkedHashMap<>();
+        for (Map.Entry<String, UserSuggestionResponse> entry : entries.tailMap(normalized, true).entrySet()) {
+            if (!entry.getKey().startsWith(normalized) || matches.size() >= limit) {
+                break;
+            }
+            matches.putIfAbsent(entry.getValue().getId(), entry.getValue());
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    public int size() {
+        return keysByUser.size();
+    }
+
+    private List<String> index(UserSuggestionResponse suggestion) {
+        Set<String> tokens = new LinkedHashSet<>();
+        addToken(tokens, suggestion.getUsername());
+        addToken(tokens, suggestion.getFirstName());
+        addToken(tokens, suggestion.getLastName());
+        if (suggestion.getFirstName() != null && suggestion.getLastName() != null) {
+            addToken(tokens, suggestion.getFirstName() + " " + suggestion.getLastName());
+        }
+
+        List<String> keys = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            String key = token + KEY_SEPARATOR + suggestion.getId();
+            entries.put(key, suggestion);
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    private static void addToken(Set<String> tokens, String value) {
+        String token = normalize(value);
+        if (!token.isEmpty()) {
+            tokens.add(token);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,18 @@
+package com.collabrix.user.service;
+
+import com.collabrix.user.dto.BulkOperationResponse;
+import com.collabrix.user.dto.BulkProfileFilter;
+
+/**
+ * Service interface for admin operations applied to many profiles at once
+ */
+public interface BulkProfileService {
+
+    BulkOperationResponse deactivate(BulkProfileFilter filter);
+
+    BulkOperationResponse reactivate(BulkProfileFilter filter);
+
+    BulkOperationResponse grantRole(String role, BulkProfileFilter filter);
+
+    BulkOperationResponse revokeRole(String role, BulkProfileFilter filter);
+}
@@ -0,0 +1,127 @@
+package com.collabrix.user.service;
+
+import com.collabrix.user.dto.BulkOperationResponse;
+import com.collabrix.user.dto.BulkProfileFilter;
+import com.collabrix.user.event.ProfileChangedEvent.ChangeType;
+import com.collabrix.user.event.ProfilesBulkChangedEvent;
+import com.collabrix.user.exception.InvalidRequestException;
+import com.collabrix.user.repository.UserProfileJdbcRepository;
+import com.collabrix.user.repository.UserProfileJdbcRepository.ProfileKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Applies admin changes to every profile matching a filter as a series of set-based
+ * statements, one chunk of ids per transaction so no lock is held for the whole run.
+ * Each chunk adjusts the statistics counters and publishes one {@link ProfilesBulkChangedEvent}
+ * for the caches and the suggestion index.
+ */
+@Slf4j
+@Service
+public class BulkProfileServiceImpl implements BulkProfileService {
+
+    private final UserProfileJdbcRepository userProfileJdbcRepository;
+    private final UserStatisticsTracker userStatisticsTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${user.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    public BulkProfileServiceImpl(UserProfileJdbcRepository userProfileJdbcRepository,
+                                  UserStatisticsTracker userStatisticsTracker,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager) {
+        this.userProfileJdbcRepository = userProfileJdbcRepository;
+        this.userStatisticsTracker = userStatisticsTracker;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public BulkOperationResponse deactivate(BulkProfileFilter filter) {
+        return setActive("deactivate", filter, false);
+    }
+
+    @Override
+    public BulkOperationResponse reactivate(BulkProfileFilter filter) {
+        return setActive("reactivate", filter, true);
+    }
+
+    @Override
+    public BulkOperationResponse grantRole(String role, BulkProfileFilter filter) {
+        String normalizedRole = normalizeRole(role);
+        return runInChunks("grant-role:" + normalizedRole, filter, ChangeType.UPDATED, () ->
+                userProfileJdbcRepository.grantRoleChunk(filter, normalizedRole, chunkSize));
+    }
+
+    @Override
+    public BulkOperationResponse revokeRole(String role, BulkProfileFilter filter) {
+        String normalizedRole = normalizeRole(role);
+        return runInChunks("revoke-role:" + normalizedRole, filter, ChangeType.UPDATED, () ->
+                userProfileJdbcRepository.revokeRoleChunk(filter, normalizedRole, chunkSize));
+    }
+
+    private BulkOperationResponse setActive(String operation, BulkProfileFilter filter, boolean active) {
+        ChangeType changeType = active ? ChangeType.REACTIVATED : ChangeType.DEACTIVATED;
+        return runInChunks(operation, filter, changeType, () -> {
+            List<ProfileKey> changed = userProfileJdbcRepository.setActiveChunk(
+                    filter, active, chunkSize, LocalDateTime.now());
+            userStatisticsTracker.recordActiveChanged(
+                    changed.stream().map(ProfileKey::organization).toList(), active);
+            return changed;
+        });
+    }
+
+    private BulkOperationResponse runInChunks(String operation, BulkProfileFilter filter, ChangeType changeType,
+                                              Supplier<List<ProfileKey>> chunkOperation) {
+        if (filter == null || filter.isEmpty()) {
+            throw new InvalidRequestException("Bulk operations need at least one filter criterion");
+        }
+        log.warn("Bulk {} on profiles matching {}", operation, filter);
+
+        long affected = 0;
+        int chunks = 0;
+        while (true) {
+            List<ProfileKey> changed = transactionTemplate.execute(status -> {
+                List<ProfileKey> keys = chunkOperation.get();
+                if (!keys.isEmpty()) {
+                    eventPublisher.publishEvent(new ProfilesBulkChangedEvent(changeType,
+                            keys.stream().map(ProfileKey::id).toList(),
+                            keys.stream().map(ProfileKey::username).toList()));
+                }
+                return keys;
+            });
+            if (changed == null || changed.isEmpty()) {
+                break;
+            }
+            affected += changed.size();
+            chunks++;
+            if (changed.size() < chunkSize) {
+                break;
+            }
+        }
+
+        log.info("✅ Bulk {} affected {} profiles in {} chunks", operation, affected, chunks);
+        return BulkOperationResponse.builder()
+                .operation(operation)
+                .affected(affected)
+                .chunks(chunks)
+                .build();
+    }
+
+    private static String normalizeRole(String role) {
+        if (role == null || role.isBlank()) {
+            throw new InvalidRequestException("Role is required");
+        }
+        return role.strip().toUpperCase();
+    }
+}
@@ -0,0 +1,45 @@
+package com.collabrix.user.service;
+
+import com.collabrix.user.repository.UserProfileJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills user_profiles.completion_mask for rows written before the column existed.
+ * Every write path sets the mask itself, so once a pass finds nothing left each run
+ * is a probe of an empty partial index.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CompletionMaskBackfill {
+
+    private final UserProfileJdbcRepository userProfileJdbcRepository;
+
+    @Value("${user.completion-mask.backfill-chunk-size:2000}")
+    private int chunkSize;
+
+    /**
+     * Backfill in bounded chunks, each committed on its own, so no statement
+     * holds row locks for long
+     */
+    @Scheduled(fixedDelayString = "${user.completion-mask.backfill-interval-ms:600000}",
+            initialDelayString = "${user.completion-mask.backfill-initial-delay-ms:30000}")
+    public void backfill() {
+        long startedAt = System.nanoTime();
+        int total = 0;
+        int updated;
+        do {
+            updated = userProfileJdbcRepository.backfillCompletionMasks(chunkSize);
+            total += updated;
+        } while (updated == chunkSize);
+
+        if (total > 0) {
+            log.info("🧮 Backfilled completion mask for {} profiles in {} ms",
+                    total, (System.nanoTime() - startedAt) / 1_000_000);
+        }
+    }
+}
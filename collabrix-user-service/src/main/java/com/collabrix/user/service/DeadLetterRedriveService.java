@@ -0,0 +1,17 @@
+package com.collabrix.user.service;
+
+import com.collabrix.user.dto.DeadLetterRedriveResponse;
+
+/**
+ * Service interface for replaying dead-lettered user events
+ */
+public interface DeadLetterRedriveService {
+
+    /**
+     * Republish up to maxRecords not-yet-re-driven records from the event type's DLT
+     * onto its main topic
+     *
+     * @param eventType registered, deleted or role-changed
+     */
+    DeadLetterRedriveResponse redrive(String eventType, Integer maxRecords);
+}
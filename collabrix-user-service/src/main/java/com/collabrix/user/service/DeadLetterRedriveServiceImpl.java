@@ -0,0 +1,159 @@
+package com.collabrix.user.service;
+
+import com.collabrix.user.dto.DeadLetterRedriveResponse;
+import com.collabrix.user.exception.InvalidRequestException;
+import com.collabrix.user.kafka.RetryTopics;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reads a DLT with a dedicated consumer group and republishes each record onto the
+ * original topic. Offsets are committed only after the batch is acknowledged by the
+ * broker, so a failed run can simply be repeated; events that were applied in the
+ * meantime are skipped by the consumers' event-id deduplication.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeadLetterRedriveServiceImpl implements DeadLetterRedriveService {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    private final ConcurrentKafkaListenerContainerFactory<String, JsonNode> failedEventKafkaListenerContainerFactory;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    // A lock rather than synchronized: a re-drive blocks on Kafka for a long time and must
+    // not pin its carrier thread when requests run on virtual threads
+    private final ReentrantLock redriveLock = new ReentrantLock();
+
+    @Value("${spring.kafka.consumer.group-id}")
+    private String groupId;
+
+    @Value("${kafka.topic.user-registered}")
+    private String userRegisteredTopic;
+
+    @Value("${kafka.topic.user-deleted}")
+    private String userDeletedTopic;
+
+    @Value("${kafka.topic.user-role-changed}")
+    private String userRoleChangedTopic;
+
+    @Value("${kafka.retry.redrive.max-records:10000}")
+    private int maxRedriveRecords;
+
+    @Override
+    public DeadLetterRedriveResponse redrive(String eventType, Integer maxRecords) {
+        redriveLock.lock();
+        try {
+            return redriveExclusively(eventType, maxRecords);
+        } finally {
+            redriveLock.unlock();
+        }
+    }
+
+    private DeadLetterRedriveResponse redriveExclusively(String eventType, Integer maxRecords) {
+        String targetTopic = targetTopic(eventType);
+        String deadLetterTopic = RetryTopics.deadLetter(targetTopic);
+        int limit = maxRecords == null ? maxRedriveRecords : Math.min(Math.max(maxRecords, 1), maxRedriveRecords);
+
+        int redriven = 0;
+        boolean hasMore = false;
+        try (Consumer<String, JsonNode> consumer = createConsumer()) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(deadLetterTopic);
+            if (partitions == null || partitions.isEmpty()) {
+                log.info("No dead-letter topic {} yet, nothing to re-drive", deadLetterTopic);
+                return response(eventType, deadLetterTopic, targetTopic, 0, false);
+            }
+            consumer.assign(partitions.stream()
+                    .map(partition -> new TopicPartition(deadLetterTopic, partition.partition()))
+                    .toList());
+
+            while (redriven < limit) {
+                ConsumerRecords<String, JsonNode> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    break;
+                }
+
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                List<CompletableFuture<?>> sends = new ArrayList<>();
+                for (ConsumerRecord<String, JsonNode> record : records) {
+                    if (redriven >= limit) {
+                        hasMore = true;
+                        break;
+                    }
+                    sends.add(kafkaTemplate.send(targetTopic, record.key(), record.value()));
+                    offsets.put(new TopicPartition(record.topic(), record.partition()),
+                            new OffsetAndMetadata(record.offset() + 1));
+                    redriven++;
+                }
+
+                CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+                consumer.commitSync(offsets);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Re-drive of " + deadLetterTopic + " interrupted", ex);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Re-drive of " + deadLetterTopic + " failed after "
+                    + redriven + " records", ex);
+        }
+
+        log.info("♻️ Re-drove {} records from {} to {}", redriven, deadLetterTopic, targetTopic);
+        return response(eventType, deadLetterTopic, targetTopic, redriven, hasMore || redriven == limit);
+    }
+
+    /**
+     * A consumer in its own group, so what was already re-driven is not read again
+     */
+    @SuppressWarnings("unchecked")
+    private Consumer<String, JsonNode> createConsumer() {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        return (Consumer<String, JsonNode>) failedEventKafkaListenerContainerFactory.getConsumerFactory()
+                .createConsumer(groupId + "-dlt-redrive", null, null, overrides);
+    }
+
+    private String targetTopic(String eventType) {
+        return switch (eventType) {
+            case "registered" -> userRegisteredTopic;
+            case "deleted" -> userDeletedTopic;
+            case "role-changed" -> userRoleChangedTopic;
+            default -> throw new InvalidRequestException(
+                    "Unknown event type '" + eventType + "', expected registered, deleted or role-changed");
+        };
+    }
+
+    private static DeadLetterRedriveResponse response(String eventType, String deadLetterTopic, String targetTopic,
+                                                      int redriven, boolean hasMore) {
+        return DeadLetterRedriveResponse.builder()
+                .eventType(eventType)
+                .deadLetterTopic(deadLetterTopic)
+                .targetTopic(targetTopic)
+                .redriven(redriven)
+                .hasMore(hasMore)
+                .build();
+    }
+}
@@ -0,0 +1,161 @@
+package com.collabrix.user.service;
+
+import com.collabrix.user.event.ProfileChangedEvent.ChangeType;
+import com.collabrix.user.event.ProfilesBulkChangedEvent;
+import com.collabrix.user.repository.JobCheckpointRepository;
+import com.collabrix.user.repository.UserProfileJdbcRepository;
+import com.collabrix.user.repository.UserProfileJdbcRepository.PurgedProfile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Retention policy for soft-deleted profiles: anything deactivated longer than
+ * user.retention.inactive-days ago is deleted for good, roles included.
+ *
+ * Rows go in small batches, each its own transaction that also uncounts them from the
+ * statistics and evicts them from the caches and the suggestion index, with a pause in
+ * between so the purge never holds locks for long or saturates I/O. A lease in
+ * job_checkpoints keeps it to one replica at a time; the last run's totals stay there.
+ */
+@Slf4j
+@Component
+public class InactiveProfilePurgeJob {
+
+    static final String JOB_NAME = "inactive-profile-purge";
+
+    private final UserProfileJdbcRepository userProfileJdbcRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final UserStatisticsTracker userStatisticsTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final String instanceId;
+
+    private final Counter purgedCounter;
+    private final Timer batchTimer;
+
+    @Value("${user.retention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${user.retention.inactive-days:365}")
+    private long inactiveDays;
+
+    @Value("${user.retention.batch-size:500}")
+    private int batchSize;
+
+    @Value("${user.retention.batch-pause-ms:200}")
+    private long batchPauseMs;
+
+    @Value("${user.retention.lease-ms:300000}")
+    private long leaseMs;
+
+    public InactiveProfilePurgeJob(UserProfileJdbcRepository userProfileJdbcRepository,
+                                   JobCheckpointRepository jobCheckpointRepository,
+                                   UserStatisticsTracker userStatisticsTracker,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${user.instance-id:}") String configuredInstanceId,
+                                   MeterRegistry meterRegistry) {
+        this.userProfileJdbcRepository = userProfileJdbcRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.userStatisticsTracker = userStatisticsTracker;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.instanceId = configuredInstanceId.isBlank() ? UUID.randomUUID().toString() : configuredInstanceId;
+
+        this.purgedCounter = meterRegistry.counter("user.retention.purged");
+        this.batchTimer = Timer.builder("user.retention.batch")
+                .description("Delete one batch of expired inactive profiles")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${user.retention.interval-ms:86400000}",
+            initialDelayString = "${user.retention.initial-delay-ms:600000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        Duration lease = Duration.ofMillis(leaseMs);
+        if (jobCheckpointRepository.acquire(JOB_NAME, instanceId, lease).isEmpty()) {
+            log.debug("Retention purge is running on another instance");
+            return;
+        }
+
+        try {
+            jobCheckpointRepository.startRun(JOB_NAME, instanceId, UUID.randomUUID().toString(), Duration.ZERO, lease)
+                    .orElseThrow(() -> new IllegalStateException("Retention purge lease lost before the run started"));
+            purge(LocalDateTime.now().minusDays(inactiveDays), lease);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Retention purge interrupted");
+        } catch (Exception ex) {
+            // Every committed batch stays purged; the next run picks up what is left
+            log.error("❌ Retention purge failed", ex);
+        } finally {
+            jobCheckpointRepository.release(JOB_NAME, instanceId);
+        }
+    }
+
+    private void purge(LocalDateTime deactivatedBefore, Duration lease) throws InterruptedException {
+        long startedAt = System.nanoTime();
+        long purged = 0;
+        int batches = 0;
+
+        while (true) {
+            Timer.Sample sample = Timer.start();
+            List<PurgedProfile> deleted = transactionTemplate.execute(status -> purgeBatch(deactivatedBefore));
+            if (deleted == null || deleted.isEmpty()) {
+                break;
+            }
+            sample.stop(batchTimer);
+            purged += deleted.size();
+            batches++;
+            purgedCounter.increment(deleted.size());
+
+            String lastId = deleted.get(deleted.size() - 1).id();
+            if (!jobCheckpointRepository.advance(JOB_NAME, instanceId, lastId, deleted.size(), lease)) {
+                log.warn("⚠️ Retention purge lease taken over by another instance, stopping after {} profiles", purged);
+                return;
+            }
+            if (deleted.size() < batchSize) {
+                break;
+            }
+            Thread.sleep(batchPauseMs);
+        }
+
+        jobCheckpointRepository.complete(JOB_NAME, instanceId);
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+        if (purged > 0) {
+            log.info("🗑️ Retention purge removed {} profiles deactivated before {} in {} batches, {} ms",
+                    purged, deactivatedBefore, batches, elapsedMs);
+        } else {
+            log.debug("Retention purge found no profiles deactivated before {} ({} ms)", deactivatedBefore, elapsedMs);
+        }
+    }
+
+    private List<PurgedProfile> purgeBatch(LocalDateTime deactivatedBefore) {
+        List<PurgedProfile> deleted = userProfileJdbcRepository.purgeInactiveChunk(deactivatedBefore, batchSize);
+        if (!deleted.isEmpty()) {
+            userStatisticsTracker.recordDeleted(deleted.stream()
+                    .map(profile -> new ProfileSnapshot(true, profile.active(), profile.profileCompleted(),
+                            profile.completionPercentage(), profile.organization()))
+                    .toList());
+            eventPublisher.publishEvent(new ProfilesBulkChangedEvent(ChangeType.DELETED,
+                    deleted.stream().map(PurgedProfile::id).toList(),
+                    deleted.stream().map(PurgedProfile::username).toList()));
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,186 @@
+package com.collabrix.user.service;
+
+import com.collabrix.user.entity.CompletionField;
+import com.collabrix.user.kafka.events.IncompleteProfilesBatchEvent;
+import com.collabrix.user.kafka.events.IncompleteProfilesBatchEvent.Recipient;
+import com.collabrix.user.repository.JobCheckpointRepository;
+import com.collabrix.user.repository.JobCheckpointRepository.JobCheckpoint;
+import com.collabrix.user.repository.UserProfileJdbcRepository;
+import com.collabrix.user.repository.UserProfileJdbcRepository.OutreachCandidate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands every active user with an incomplete profile to the nudge mailer, one compact
+ * Kafka message per keyset chunk, once per period.
+ *
+ * Progress is checkpointed in job_checkpoints after Kafka acknowledges each chunk, so a
+ * restart (or another replica taking over the lease) resumes after the last chunk handed
+ * off instead of starting over. A crash between the send and the checkpoint re-sends that
+ * one chunk under the same eventId.
+ */
+@Slf4j
+@Component
+public class IncompleteProfileOutreachJob {
+
+    static final String JOB_NAME = "incomplete-profile-outreach";
+
+    private final UserProfileJdbcRepository userProfileJdbcRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String instanceId;
+
+    private final Counter profilesCounter;
+    private final Counter chunksCounter;
+    private final Timer chunkTimer;
+
+    @Value("${kafka.topic.profile-outreach}")
+    private String outreachTopic;
+
+    @Value("${user.outreach.enabled:true}")
+    private boolean enabled;
+
+    @Value("${user.outreach.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${user.outreach.period-hours:168}")
+    private long periodHours;
+
+    @Value("${user.outreach.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${user.outreach.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+
+    public IncompleteProfileOutreachJob(UserProfileJdbcRepository userProfileJdbcRepository,
+                                        JobCheckpointRepository jobCheckpointRepository,
+                                        KafkaTemplate<String, Object> kafkaTemplate,
+                                        @Value("${user.instance-id:}") String configuredInstanceId,
+                                        MeterRegistry meterRegistry) {
+        this.userProfileJdbcRepository = userProfileJdbcRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.instanceId = configuredInstanceId.isBlank() ? UUID.randomUUID().toString() : configuredInstanceId;
+
+        this.profilesCounter = meterRegistry.counter("user.outreach.profiles");
+        this.chunksCounter = meterRegistry.counter("user.outreach.chunks");
+        this.chunkTimer = Timer.builder("user.outreach.chunk")
+                .description("Read, publish and checkpoint one outreach chunk")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resume the run in progress, or start a new one once the period since the last
+     * completed run has passed. Does nothing while another replica holds the lease.
+     */
+    @Scheduled(fixedDelayString = "${user.outreach.poll-interval-ms:300000}",
+            initialDelayString = "${user.outreach.poll-interval-ms:300000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        Duration lease = Duration.ofMillis(leaseMs);
+        Optional<JobCheckpoint> acquired = jobCheckpointRepository.acquire(JOB_NAME, instanceId, lease);
+        if (acquired.isEmpty()) {
+            log.debug("Outreach job is running on another instance");
+            return;
+        }
+
+        try {
+            JobCheckpoint checkpoint = acquired.get();
+            if (checkpoint.inProgress()) {
+                log.info("📨 Resuming outreach run {} after {} chunks ({} profiles)",
+                        checkpoint.runId(), checkpoint.chunks(), checkpoint.processed());
+            } else {
+                // Whether the period has passed is decided by the database clock, like the lease
+                Optional<JobCheckpoint> started = jobCheckpointRepository.startRun(JOB_NAME, instanceId,
+                        UUID.randomUUID().toString(), Duration.ofHours(periodHours), lease);
+                if (started.isEmpty()) {
+                    log.debug("Outreach run not due yet (last completed {})", checkpoint.completedAt());
+                    return;
+                }
+                checkpoint = started.get();
+                log.info("📨 Starting outreach run {}", checkpoint.runId());
+            }
+            walk(checkpoint, lease);
+        } catch (Exception ex) {
+            // The checkpoint still points after the last acknowledged chunk; the next poll resumes there
+            log.error("❌ Outreach run interrupted, will resume from the last checkpoint", ex);
+        } finally {
+            jobCheckpointRepository.release(JOB_NAME, instanceId);
+        }
+    }
+
+    private void walk(JobCheckpoint checkpoint, Duration lease) throws Exception {
+        long startedAt = System.nanoTime();
+        String cursor = checkpoint.cursorId();
+        long sequence = checkpoint.chunks();
+        long published = 0;
+
+        while (true) {
+            Timer.Sample sample = Timer.start();
+            List<OutreachCandidate> candidates = userProfileJdbcRepository.findOutreachCandidates(cursor, chunkSize);
+            if (candidates.isEmpty()) {
+                break;
+            }
+
+            IncompleteProfilesBatchEvent event = IncompleteProfilesBatchEvent.builder()
+                    .eventId(checkpoint.runId() + ":" + sequence)
+                    .eventType("INCOMPLETE_PROFILES_BATCH")
+                    .runId(checkpoint.runId())
+                    .sequence(sequence)
+                    .timestamp(System.currentTimeMillis())
+                    .recipients(candidates.stream().map(IncompleteProfileOutreachJob::toRecipient).toList())
+                    .build();
+            // Wait for the broker's ack: the checkpoint may only move past what Kafka has
+            kafkaTemplate.send(outreachTopic, checkpoint.runId(), event).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+
+            cursor = candidates.get(candidates.size() - 1).id();
+            if (!jobCheckpointRepository.advance(JOB_NAME, instanceId, cursor, candidates.size(), lease)) {
+                log.warn("⚠️ Outreach job lease taken over by another instance, stopping after chunk {}", sequence);
+                return;
+            }
+            sequence++;
+            published += candidates.size();
+            profilesCounter.increment(candidates.size());
+            chunksCounter.increment();
+            sample.stop(chunkTimer);
+
+            if (candidates.size() < chunkSize) {
+                break;
+            }
+        }
+
+        jobCheckpointRepository.complete(JOB_NAME, instanceId);
+        long elapsedMs = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("✅ Outreach run {} complete: {} profiles in {} chunks this pass, {} ms ({} profiles/s)",
+                checkpoint.runId(), published, sequence - checkpoint.chunks(), elapsedMs, published * 1000 / elapsedMs);
+    }
+
+    private static Recipient toRecipient(OutreachCandidate candidate) {
+        return Recipient.builder()
+                .userId(candidate.id())
+                .username(candidate.username())
+                .email(candidate.email())
+                .firstName(candidate.firstName())
+                .completionPercentage(candidate.completionPercentage())
+                .missingFields(candidate.completionMask() == null ? null : Arrays.stream(CompletionField.values())
+                        .filter(field -> !field.isSetIn(candidate.completionMask()))
+                        .map(CompletionField::getProperty)
+                        .toList())
+                .build();
+    }
+}
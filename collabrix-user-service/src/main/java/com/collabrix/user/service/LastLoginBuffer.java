@@ -0,0 +1,184 @@
+package com.collabrix.user.service;
+
+import com.collabrix.user.cache.CacheInvalidationPublisher;
+import com.collabrix.user.cache.UserProfileCache;
+import com.collabrix.user.repository.UserProfileJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalesces last-login writes in memory and flushes them in batches.
+ *
+ * Only the latest timestamp per user is kept, so a user logging in ten times between
+ * flushes costs one row in one UPDATE ... FROM (VALUES ...) statement. Readers may see
+ * a last-login time that is up to one flush interval old.
+ *
+ * Recording never touches the database: once a full batch is pending the scheduler is
+ * asked for an early flush. The buffer holds at most user.last-login.max-pending users;
+ * past that, logins of users not already pending are dropped and counted, and so are
+ * failed rows that no longer fit when they are put back.
+ */
+@Slf4j
+@Component
+public class LastLoginBuffer {
+
+    private final UserProfileJdbcRepository userProfileJdbcRepository;
+    private final UserProfileCache userProfileCache;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final TaskScheduler taskScheduler;
+
+    private final Counter recordedCounter;
+    private final Counter flushedRowsCounter;
+    private final Counter failedRowsCounter;
+    private final Counter droppedCounter;
+    private final Timer flushTimer;
+
+    @Value("${user.last-login.max-pending:50000}")
+    private int maxPending;
+
+    @Value("${user.last-login.batch-size:500}")
+    private int batchSize;
+
+    public LastLoginBuffer(UserProfileJdbcRepository userProfileJdbcRepository,
+                           UserProfileCache userProfileCache,
+                           CacheInvalidationPublisher cacheInvalidationPublisher,
+                           TaskScheduler taskScheduler,
+                           MeterRegistry meterRegistry) {
+        this.userProfileJdbcRepository = userProfileJdbcRepository;
+        this.userProfileCache = userProfileCache;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+        this.taskScheduler = taskScheduler;
+
+        this.recordedCounter = meterRegistry.counter("user.last-login.recorded");
+        this.flushedRowsCounter = meterRegistry.counter("user.last-login.flushed.rows");
+        this.failedRowsCounter = meterRegistry.counter("user.last-login.failed.rows");
+        this.droppedCounter = meterRegistry.counter("user.last-login.dropped");
+        this.flushTimer = meterRegistry.timer("user.last-login.flush");
+        meterRegistry.gauge("user.last-login.pending", pending, Map::size);
+    }
+
+    public void record(String userId, LocalDateTime loggedInAt) {
+        if (!offer(userId, loggedInAt)) {
+            return;
+        }
+        recordedCounter.increment();
+
+        // A full batch is waiting: have the scheduler flush now rather than at the next interval
+        if (pending.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flush, Instant.now());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${user.last-login.flush-interval-ms:250}")
+    public void flush() {
+        // Another thread is already flushing and will pick up whatever is pending
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            while (!pending.isEmpty()) {
+                Map<String, LocalDateTime> batch = drain();
+                if (batch.isEmpty()) {
+                    break;
+                }
+                if (!write(batch)) {
+                    // Leave an early-flush request standing, so failing writes are retried
+                    // at the flush interval rather than on every login
+                    return;
+                }
+            }
+            flushRequested.set(false);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Write out everything still buffered before the datasource goes away
+     */
+    @PreDestroy
+    public void drainOnShutdown() {
+        log.info("Draining {} buffered last-login updates", pending.size());
+        flushLock.lock();
+        try {
+            while (!pending.isEmpty()) {
+                if (!write(drain())) {
+                    log.warn("⚠️ Dropped {} last-login updates at shutdown", pending.size());
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private Map<String, LocalDateTime> drain() {
+        Map<String, LocalDateTime> batch = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, LocalDateTime>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext() && batch.size() < batchSize) {
+            Map.Entry<String, LocalDateTime> entry = iterator.next();
+            // Only take the value we saw; a newer login recorded meanwhile stays for the next batch
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return batch;
+    }
+
+    private boolean write(Map<String, LocalDateTime> batch) {
+        try {
+            int updated = flushTimer.recordCallable(() -> userProfileJdbcRepository.updateLastLoginTimes(batch));
+            flushedRowsCounter.increment(updated);
+        } catch (Exception ex) {
+            log.error("❌ Failed to flush {} last-login updates, will retry", batch.size(), ex);
+            failedRowsCounter.increment(batch.size());
+            batch.forEach(this::offer);
+            return false;
+        }
+
+        List<String> userIds = new ArrayList<>(batch.keySet());
+        userIds.forEach(userId -> userProfileCache.evict(userId, null));
+        cacheInvalidationPublisher.enqueue(userIds, List.of());
+        log.debug("Flushed {} last-login updates", batch.size());
+        return true;
+    }
+
+    /**
+     * Buffer a login unless that would take a new user past max-pending; the size check is
+     * not atomic with the insert, so concurrent logins can overshoot the bound slightly
+     */
+    private boolean offer(String userId, LocalDateTime loggedInAt) {
+        if (pending.size() >= maxPending && !pending.containsKey(userId)) {
+            droppedCounter.increment();
+            return false;
+        }
+        pending.merge(userId, loggedInAt, LastLoginBuffer::latest);
+        return true;
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
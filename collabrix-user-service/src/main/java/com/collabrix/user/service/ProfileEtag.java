@@ -0,0 +1,84 @@
+package com.collabrix.user.service;
+
+import com.collabrix.user.dto.UserProfileResponse;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Strong entity tags for profile representations, of the form "{version}-{lastLogin}".
+ * The version changes with every edit and the last-login part with every login, so the
+ * tag can be computed from a two-column lookup without loading the profile. Writes only
+ * care about the version: a login in between does not make an editor's copy stale.
+ */
+public final class ProfileEtag {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private ProfileEtag() {
+    }
+
+    public static String of(UserProfileResponse profile) {
+        return of(profile.getVersion(), profile.getLastLoginAt());
+    }
+
+    public static String of(Long version, LocalDateTime lastLoginAt) {
+        long loginMicros = lastLoginAt == null
+                ? 0 : ChronoUnit.MICROS.between(EPOCH, lastLoginAt);
+        return "\"" + version + '-' + Long.toHexString(loginMicros) + '"';
+    }
+
+    /**
+     * The profile versions an If-Match header accepts, or null when it accepts any
+     * (no header, or "*"). If-Match uses the strong comparison (RFC 9110, 13.1.1), so
+     * weak tags and tags that are not profile tags contribute nothing; a header made
+     * only of those accepts no version at all.
+     */
+    public static Set<Long> versionsOf(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        Set<Long> versions = new LinkedHashSet<>();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.equals("*")) {
+                return null;
+            }
+            int separator = tag.indexOf('-');
+            if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"") && separator > 1) {
+                try {
+                    versions.add(Long.parseLong(tag.substring(1, separator)));
+                } catch (NumberFormatException ignored) {
+                    // Not one of ours; matches nothing
+                }
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Whether an If-None-Match header value matches the given tag. Accepts "*" and
+     * comma-separated lists; If-None-Match uses the weak comparison (RFC 9110, 13.1.2),
+     * so weak tags compare by their opaque value. Not for If-Match, see {@link #versionsOf}.
+     */
+    public static boolean matches(String headerValue, String etag) {
+        if (headerValue == null || headerValue.isBlank()) {
+            return false;
+        }
+        for (String candidate : headerValue.split(",")) {
+            String tag = candidate.strip();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,33 @@
+package com.collabrix.user.service;
+
+import com.collabrix.user.dto.UserProfileResponse;
+import com.collabrix.user.entity.UserProfile;
+
+/**
+ * The fields of a profile that derived counters depend on, captured before and
+ * after a write so the counters can be adjusted by the difference
+ */
+public record ProfileSnapshot(boolean exists, boolean active, boolean profileCompleted, int completionPercentage,
+                              String organization) {
+
+    /** State of a profile that does not exist (before create, after hard delete) */
+    public static final ProfileSnapshot NONE = new ProfileSnapshot(false, false, false, 0, null);
+
+    public static ProfileSnapshot of(UserProfile profile) {
+        return new ProfileSnapshot(
+                true,
+                Boolean.TRUE.equals(profile.getActive()),
+                Boolean.TRUE.equals(profile.getProfileCompleted()),
+                profile.getProfileCompletionPercentage() != null ? profile.getProfileCompletionPercentage() : 0,
+                profile.getOrganization());
+    }
+
+    public static ProfileSnapshot of(UserProfileResponse profile) {
+        return new ProfileSnapshot(
+                true,
+                Boolean.TRUE.equals(profile.getActive()),
+                Boolean.TRUE.equals(profile.getProfileCompleted()),
+                profile.getProfileCompletionPercentage() != null ? profile.getProfileCompletionPercentage() : 0,
+                profile.getOrganization());
+    }
+}
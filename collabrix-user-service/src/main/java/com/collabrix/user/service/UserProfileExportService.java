@@ -0,0 +1,14 @@
+package com.collabrix.user.service;
+
+import com.collabrix.user.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for bulk profile export
+ */
+public interface UserProfileExportService {
+
+    void exportProfiles(ExportFormat format, boolean activeOnly, OutputStream outputStream) throws IOException;
+}
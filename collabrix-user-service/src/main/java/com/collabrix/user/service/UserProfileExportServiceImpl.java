@@ -0,0 +1,126 @@
+package com.collabrix.user.service;
+
+import com.collabrix.user.dto.ExportFormat;
+import com.collabrix.user.dto.UserProfileResponse;
+import com.collabrix.user.repository.UserProfileJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Streams user profiles row by row from a database cursor to the response,
+ * so memory stays flat no matter how many profiles are exported
+ */
+@Slf4j
+@Service
+public class UserProfileExportServiceImpl implements UserProfileExportService {
+
+    private static final List<String> CSV_HEADER = List.of(
+            "id", "username", "email", "first_name", "last_name", "country_code", "contact_no",
+            "organization", "avatar_url", "bio", "linkedin_url", "github_url", "twitter_url",
+            "website_url", "roles", "active", "profile_completed", "profile_completion_percentage",
+            "last_login_at", "created_at", "updated_at");
+
+    private final UserProfileJdbcRepository userProfileJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${user.export.fetch-size:500}")
+    private int fetchSize;
+
+    public UserProfileExportServiceImpl(UserProfileJdbcRepository userProfileJdbcRepository,
+                                        ObjectMapper objectMapper,
+                                        PlatformTransactionManager transactionManager) {
+        this.userProfileJdbcRepository = userProfileJdbcRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void exportProfiles(ExportFormat format, boolean activeOnly, OutputStream outputStream) throws IOException {
+        log.info("Exporting {} profiles as {}", activeOnly ? "active" : "all", format);
+        long startedAt = System.currentTimeMillis();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writeCsvRow(writer, CSV_HEADER);
+        }
+
+        long[] rows = {0};
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    userProfileJdbcRepository.streamProfiles(activeOnly, fetchSize, profile -> {
+                        try {
+                            if (format == ExportFormat.CSV) {
+                                writeCsvRow(writer, toCsvValues(profile));
+                            } else {
+                                writer.write(objectMapper.writeValueAsString(profile));
+                                writer.write('\n');
+                            }
+                            // Push each fetched chunk to the client instead of buffering the export
+                            if (++rows[0] % fetchSize == 0) {
+                                writer.flush();
+                            }
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    }));
+        } catch (UncheckedIOException ex) {
+            log.warn("Export aborted after {} rows: {}", rows[0], ex.getCause().getMessage());
+            throw ex.getCause();
+        }
+
+        writer.flush();
+        log.info("✅ Exported {} profiles as {} in {} ms", rows[0], format, System.currentTimeMillis() - startedAt);
+    }
+
+    private List<String> toCsvValues(UserProfileResponse profile) {
+        return List.of(
+                value(profile.getId()), value(profile.getUsername()), value(profile.getEmail()),
+                value(profile.getFirstName()), value(profile.getLastName()), value(profile.getCountryCode()),
+                value(profile.getContactNo()), value(profile.getOrganization()), value(profile.getAvatarUrl()),
+                value(profile.getBio()), value(profile.getLinkedinUrl()), value(profile.getGithubUrl()),
+                value(profile.getTwitterUrl()), value(profile.getWebsiteUrl()),
+                String.join(";", profile.getRoles()),
+                value(profile.getActive()), value(profile.getProfileCompleted()),
+                value(profile.getProfileCompletionPercentage()), value(profile.getLastLoginAt()),
+                value(profile.getCreatedAt()), value(profile.getUpdatedAt()));
+    }
+
+    private String value(Object value) {
+        return Objects.toString(value, "");
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks
+    private void writeCsvRow(Writer writer, List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String field = values.get(i);
+            if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0
+                    || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(field.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(field);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
@@ -1,11 +1,21 @@
 package com.collabrix.user.service;
 
+import com.collabrix.user.dto.BatchProfileRequest;
+import com.collabrix.user.dto.BatchProfileResponse;
+import com.collabrix.user.dto.CursorPageResponse;
+import com.collabrix.user.dto.FacetedSearchResponse;
+import com.collabrix.user.dto.OrganizationResponse;
+import com.collabrix.user.dto.ProfileSearchFilter;
 import com.collabrix.user.dto.UpdateProfileRequest;
 import com.collabrix.user.dto.UserProfileResponse;
 import com.collabrix.user.dto.UserStatisticsResponse;
+import com.collabrix.user.dto.UserSuggestionResponse;
 import com.collabrix.user.kafka.events.UserRegisteredEvent;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service interface for user profile operations
@@ -14,13 +24,37 @@ public interface UserProfileService {
 
     UserProfileResponse createProfile(UserRegisteredEvent event);
 
+    /**
+     * Create profiles for a batch of registrations, skipping users that already exist
+     *
+     * @return the profiles actually created
+     */
+    List<UserProfileResponse> createProfiles(List<UserRegisteredEvent> events);
+
     UserProfileResponse getProfileById(String userId);
 
     UserProfileResponse getProfileByUsername(String username);
 
-    UserProfileResponse updateProfile(String userId, UpdateProfileRequest request);
+    String getProfileEtag(String userId);
+
+    BatchProfileResponse getProfilesBatch(BatchProfileRequest request);
+
+    /**
+     * @param expectedVersions versions the caller's If-Match accepts, or null for any
+     */
+    UserProfileResponse updateProfile(String userId, UpdateProfileRequest request, Set<Long> expectedVersions);
 
-    UserProfileResponse updateAvatar(String userId, String avatarUrl);
+    /**
+     * @param expectedVersions versions the caller's If-Match accepts, or null for any
+     */
+    UserProfileResponse updateAvatar(String userId, String avatarUrl, Set<Long> expectedVersions);
+
+    /**
+     * Apply a JSON Merge Patch (RFC 7396) to the editable profile fields
+     *
+     * @param expectedVersions versions the caller's If-Match accepts, or null for any
+     */
+    UserProfileResponse patchProfile(String userId, JsonNode patch, Set<Long> expectedVersions);
 
     void deleteProfile(String userId);
 
@@ -28,15 +62,25 @@ public interface UserProfileService {
 
     UserProfileResponse reactivateProfile(String userId);
 
-    List<UserProfileResponse> searchUsers(String searchTerm);
+    CursorPageResponse<UserProfileResponse> searchUsers(String searchTerm, String cursor, Integer size);
+
+    FacetedSearchResponse searchWithFacets(ProfileSearchFilter filter, String cursor, Integer size);
+
+    List<UserSuggestionResponse> suggestUsers(String prefix, Integer limit);
+
+    CursorPageResponse<UserProfileResponse> getAllActiveUsers(String cursor, Integer size);
+
+    CursorPageResponse<OrganizationResponse> getOrganizations(String prefix, String cursor, Integer size);
+
+    CursorPageResponse<UserProfileResponse> getUsersByOrganization(String organization, String cursor, Integer size);
 
-    List<UserProfileResponse> getAllActiveUsers();
+    CursorPageResponse<UserProfileResponse> getUsersWithIncompleteProfiles(String cursor, Integer size);
 
-    List<UserProfileResponse> getUsersByOrganization(String organization);
+    Map<String, Long> countMissingFields();
 
-    List<UserProfileResponse> getUsersWithIncompleteProfiles();
+    CursorPageResponse<UserProfileResponse> getUsersMissingField(String field, String cursor, Integer size);
 
-    UserStatisticsResponse getUserStatistics();
+    UserStatisticsResponse getUserStatistics(boolean exact);
 
     void updateLastLogin(String userId);
 
@@ -1,21 +1,57 @@
 package com.collabrix.user.service;
 
+import com.collabrix.user.cache.UserProfileCache;
+import com.collabrix.user.dto.BatchProfileRequest;
+import com.collabrix.user.dto.BatchProfileResponse;
+import com.collabrix.user.dto.CursorPageResponse;
+import com.collabrix.user.dto.FacetCount;
+import com.collabrix.user.dto.FacetedSearchResponse;
+import com.collabrix.user.dto.OrganizationResponse;
+import com.collabrix.user.dto.ProfileSearchFilter;
 import com.collabrix.user.dto.UpdateProfileRequest;
 import com.collabrix.user.dto.UserProfileResponse;
 import com.collabrix.user.dto.UserStatisticsResponse;
+import com.collabrix.user.dto.UserSuggestionResponse;
+import com.collabrix.user.entity.CompletionField;
+import com.collabrix.user.entity.ProfileField;
 import com.collabrix.user.entity.UserProfile;
+import com.collabrix.user.event.ProfileChangedEvent;
+import com.collabrix.user.event.ProfileChangedEvent.ChangeType;
 import com.collabrix.user.exception.InactiveUserException;
+import com.collabrix.user.exception.InvalidRequestException;
+import com.collabrix.user.exception.PreconditionFailedException;
 import com.collabrix.user.exception.UserNotFoundException;
 import com.collabrix.user.kafka.events.UserRegisteredEvent;
+import com.collabrix.user.pagination.KeysetCursor;
+import com.collabrix.user.pagination.OffsetCursor;
+import com.collabrix.user.repository.OrganizationStatisticsRepository;
+import com.collabrix.user.repository.UserProfileJdbcRepository;
+import com.collabrix.user.repository.UserProfileJdbcRepository.PatchedProfile;
 import com.collabrix.user.repository.UserProfileRepository;
+import com.collabrix.user.search.UserSuggestionIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -25,21 +61,94 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "user.service", histogram = true)
 public class UserProfileServiceImpl implements UserProfileService {
 
     private final UserProfileRepository userProfileRepository;
+    private final UserProfileJdbcRepository userProfileJdbcRepository;
+    private final UserSuggestionIndex userSuggestionIndex;
+    private final UserStatisticsTracker userStatisticsTracker;
+    private final OrganizationStatisticsRepository organizationStatisticsRepository;
+    private final UserProfileCache userProfileCache;
+    private final LastLoginBuffer lastLoginBuffer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${user.pagination.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${user.pagination.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${user.search.min-term-length:3}")
+    private int minSearchTermLength;
+
+    @Value("${user.search.similarity-threshold:0.4}")
+    private double searchSimilarityThreshold;
+
+    @Value("${user.search.max-result-depth:500}")
+    private int maxSearchResultDepth;
+
+    @Value("${user.search.facet-limit:20}")
+    private int searchFacetLimit;
+
+    @Value("${user.batch.max-keys:2000}")
+    private int maxBatchKeys;
+
+    @Value("${user.suggest.default-limit:10}")
+    private int defaultSuggestionLimit;
+
+    @Value("${user.suggest.max-limit:25}")
+    private int maxSuggestionLimit;
 
     @Override
     public UserProfileResponse createProfile(UserRegisteredEvent event) {
         log.info("Creating profile for user: {} ({})", event.getUsername(), event.getKeycloakUserId());
 
-        // Idempotency check
-        if (userProfileRepository.existsById(event.getKeycloakUserId())) {
+        List<UserProfileResponse> created = createProfiles(List.of(event));
+        if (created.isEmpty()) {
+            // Idempotency: the insert was skipped because the profile already exists
             log.warn("⚠️ Profile already exists for user: {}", event.getKeycloakUserId());
             return getProfileById(event.getKeycloakUserId());
         }
 
-        // Create new profile
+        log.info("✅ Profile created successfully for user: {}", event.getUsername());
+        return created.get(0);
+    }
+
+    @Override
+    public List<UserProfileResponse> createProfiles(List<UserRegisteredEvent> events) {
+        // Replays and retries can carry the same user several times; the last event wins
+        Map<String, UserRegisteredEvent> latestByUser = new LinkedHashMap<>();
+        for (UserRegisteredEvent event : events) {
+            latestByUser.remove(event.getKeycloakUserId());
+            latestByUser.put(event.getKeycloakUserId(), event);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<UserProfile> profiles = latestByUser.values().stream()
+                .map(event -> newProfile(event, now))
+                .collect(Collectors.toList());
+
+        Set<String> insertedIds = userProfileJdbcRepository.insertProfilesIfAbsent(profiles, now);
+        List<UserProfile> inserted = profiles.stream()
+                .filter(profile -> insertedIds.contains(profile.getId()))
+                .collect(Collectors.toList());
+        userStatisticsTracker.recordCreated(inserted.stream().map(ProfileSnapshot::of).collect(Collectors.toList()));
+
+        List<UserProfileResponse> responses = new ArrayList<>(inserted.size());
+        for (UserProfile profile : inserted) {
+            UserProfileResponse response = mapToResponse(profile);
+            eventPublisher.publishEvent(ProfileChangedEvent.of(ChangeType.CREATED, response));
+            responses.add(response);
+        }
+
+        log.debug("Created {} of {} registered profiles ({} events)", inserted.size(), profiles.size(), events.size());
+        return responses;
+    }
+
+    private UserProfile newProfile(UserRegisteredEvent event, LocalDateTime now) {
         UserProfile profile = UserProfile.builder()
                 .id(event.getKeycloakUserId())
                 .username(event.getUsername())
@@ -49,40 +158,123 @@ public class UserProfileServiceImpl implements UserProfileService {
                 .countryCode(event.getCountryCode())
                 .contactNo(event.getContactNo())
                 .organization(event.getOrganization())
-                .roles(event.getRoles() != null ? event.getRoles() : new ArrayList<>())
+                .roles(event.getRoles() != null ? new ArrayList<>(event.getRoles()) : new ArrayList<>())
                 .active(true)
                 .profileCompleted(false)
+                .createdAt(now)
+                .updatedAt(now)
+                .version(0L)
                 .build();
 
         // Calculate initial profile completion
         profile.calculateProfileCompletion();
-
-        UserProfile savedProfile = userProfileRepository.save(profile);
-        log.info("✅ Profile created successfully for user: {}", savedProfile.getUsername());
-
-        return mapToResponse(savedProfile);
+        return profile;
     }
 
+    // Cached reads: SUPPORTS so a cache hit never opens a transaction or borrows a connection
+
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserProfileResponse getProfileById(String userId) {
         log.debug("Fetching profile by ID: {}", userId);
-        UserProfile profile = userProfileRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found: " + userId));
-        return mapToResponse(profile);
+        Optional<UserProfileResponse> cached = userProfileCache.getById(userId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        if (userProfileCache.isKnownMissingId(userId)) {
+            throw new UserNotFoundException("User not found: " + userId);
+        }
+
+        long stamp = userProfileCache.stamp();
+        UserProfile profile = userProfileRepository.findById(userId).orElse(null);
+        if (profile == null) {
+            userProfileCache.markMissingId(userId, stamp);
+            throw new UserNotFoundException("User not found: " + userId);
+        }
+
+        UserProfileResponse response = mapToResponse(profile);
+        userProfileCache.put(response, stamp);
+        return response;
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserProfileResponse getProfileByUsername(String username) {
         log.debug("Fetching profile by username: {}", username);
-        UserProfile profile = userProfileRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
-        return mapToResponse(profile);
+        Optional<UserProfileResponse> cached = userProfileCache.getByUsername(username);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        if (userProfileCache.isKnownMissingUsername(username)) {
+            throw new UserNotFoundException("User not found: " + username);
+        }
+
+        long stamp = userProfileCache.stamp();
+        UserProfile profile = userProfileRepository.findByUsername(username).orElse(null);
+        if (profile == null) {
+            userProfileCache.markMissingUsername(username, stamp);
+            throw new UserNotFoundException("User not found: " + username);
+        }
+
+        UserProfileResponse response = mapToResponse(profile);
+        userProfileCache.put(response, stamp);
+        return response;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public String getProfileEtag(String userId) {
+        // Cached profile or a two-column lookup; never loads the entity or its roles
+        Optional<UserProfileResponse> cached = userProfileCache.getById(userId);
+        if (cached.isPresent()) {
+            return ProfileEtag.of(cached.get());
+        }
+        return userProfileRepository.findVersionById(userId)
+                .map(version -> ProfileEtag.of(version.getVersion(), version.getLastLoginAt()))
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + userId));
     }
 
     @Override
-    public UserProfileResponse updateProfile(String userId, UpdateProfileRequest request) {
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public BatchProfileResponse getProfilesBatch(BatchProfileRequest request) {
+        Set<String> ids = distinct(request.getIds());
+        Set<String> usernames = distinct(request.getUsernames());
+        if (ids.size() + usernames.size() > maxBatchKeys) {
+            throw new InvalidRequestException("A batch may contain at most " + maxBatchKeys + " ids and usernames");
+        }
+        log.debug("Fetching batch of {} ids and {} usernames", ids.size(), usernames.size());
+
+        // Serve what we can from the cache, then resolve every miss with a single query
+        Map<String, UserProfileResponse> found = new LinkedHashMap<>();
+        List<String> missedIds = new ArrayList<>();
+        List<String> missedUsernames = new ArrayList<>();
+        for (String id : ids) {
+            userProfileCache.getById(id).ifPresentOrElse(p -> found.put(p.getId(), p), () -> missedIds.add(id));
+        }
+        for (String username : usernames) {
+            userProfileCache.getByUsername(username).ifPresentOrElse(p -> found.put(p.getId(), p), () -> missedUsernames.add(username));
+        }
+
+        if (!missedIds.isEmpty() || !missedUsernames.isEmpty()) {
+            long stamp = userProfileCache.stamp();
+            for (UserProfileResponse profile : userProfileJdbcRepository.findByIdsOrUsernames(missedIds, missedUsernames)) {
+                found.put(profile.getId(), profile);
+                userProfileCache.put(profile, stamp);
+            }
+        }
+
+        Set<String> foundUsernames = found.values().stream()
+                .map(UserProfileResponse::getUsername)
+                .collect(Collectors.toSet());
+        return BatchProfileResponse.builder()
+                .profiles(new ArrayList<>(found.values()))
+                .missingIds(ids.stream().filter(id -> !found.containsKey(id)).collect(Collectors.toList()))
+                .missingUsernames(usernames.stream().filter(u -> !foundUsernames.contains(u)).collect(Collectors.toList()))
+                .build();
+    }
+
+    @Override
+    public UserProfileResponse updateProfile(String userId, UpdateProfileRequest request, Set<Long> expectedVersions) {
         log.info("Updating profile for user: {}", userId);
 
         UserProfile profile = userProfileRepository.findById(userId)
@@ -92,6 +284,8 @@ public class UserProfileServiceImpl implements UserProfileService {
         if (!profile.getActive()) {
             throw new InactiveUserException("Cannot update inactive user profile");
         }
+        checkExpectedVersion(profile, expectedVersions);
+        ProfileSnapshot before = ProfileSnapshot.of(profile);
 
         // Update fields (only if provided)
         if (request.getFirstName() != null) {
@@ -128,14 +322,18 @@ public class UserProfileServiceImpl implements UserProfileService {
         // Recalculate profile completion
         profile.calculateProfileCompletion();
 
-        UserProfile updatedProfile = userProfileRepository.save(profile);
+        // Flush so updatedAt (and therefore the returned ETag) reflects this write
+        UserProfile updatedProfile = userProfileRepository.saveAndFlush(profile);
+        userStatisticsTracker.record(before, ProfileSnapshot.of(updatedProfile));
         log.info("✅ Profile updated successfully for user: {}", updatedProfile.getUsername());
 
-        return mapToResponse(updatedProfile);
+        UserProfileResponse response = mapToResponse(updatedProfile);
+        eventPublisher.publishEvent(ProfileChangedEvent.of(ChangeType.UPDATED, response));
+        return response;
     }
 
     @Override
-    public UserProfileResponse updateAvatar(String userId, String avatarUrl) {
+    public UserProfileResponse updateAvatar(String userId, String avatarUrl, Set<Long> expectedVersions) {
         log.info("Updating avatar for user: {}", userId);
 
         UserProfile profile = userProfileRepository.findById(userId)
@@ -144,14 +342,114 @@ public class UserProfileServiceImpl implements UserProfileService {
         if (!profile.getActive()) {
             throw new InactiveUserException("Cannot update avatar for inactive user");
         }
+        checkExpectedVersion(profile, expectedVersions);
+        ProfileSnapshot before = ProfileSnapshot.of(profile);
 
         profile.setAvatarUrl(avatarUrl);
         profile.calculateProfileCompletion();
 
-        UserProfile updatedProfile = userProfileRepository.save(profile);
+        UserProfile updatedProfile = userProfileRepository.saveAndFlush(profile);
+        userStatisticsTracker.record(before, ProfileSnapshot.of(updatedProfile));
         log.info("✅ Avatar updated successfully for user: {}", updatedProfile.getUsername());
 
-        return mapToResponse(updatedProfile);
+        UserProfileResponse response = mapToResponse(updatedProfile);
+        eventPublisher.publishEvent(ProfileChangedEvent.of(ChangeType.UPDATED, response));
+        return response;
+    }
+
+    @Override
+    public UserProfileResponse patchProfile(String userId, JsonNode patch, Set<Long> expectedVersions) {
+        log.info("Patching profile for user: {}", userId);
+        Map<ProfileField, String> changes = readMergePatch(patch);
+
+        if (!changes.isEmpty()) {
+            // Fast path: one UPDATE ... RETURNING, no preceding SELECT
+            Optional<PatchedProfile> patched = userProfileJdbcRepository.patchProfile(
+                    userId, changes, expectedVersions, LocalDateTime.now());
+            if (patched.isPresent()) {
+                UserProfileResponse response = patched.get().profile();
+                ProfileSnapshot before = new ProfileSnapshot(true, true, patched.get().previouslyCompleted(),
+                        patched.get().previousCompletionPercentage(), patched.get().previousOrganization());
+                userStatisticsTracker.record(before, ProfileSnapshot.of(response));
+                log.info("✅ Profile patched for user: {} (fields: {})", response.getUsername(), changes.keySet());
+
+                eventPublisher.publishEvent(ProfileChangedEvent.of(ChangeType.UPDATED, response));
+                return response;
+            }
+        }
+
+        // Nothing was written: load the profile to report why, or to apply the patch
+        // through the entity if the row changed between the two statements
+        UserProfile profile = userProfileRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + userId));
+        if (!profile.getActive()) {
+            throw new InactiveUserException("Cannot update inactive user profile");
+        }
+        checkExpectedVersion(profile, expectedVersions);
+        if (changes.isEmpty()) {
+            return mapToResponse(profile);
+        }
+        ProfileSnapshot before = ProfileSnapshot.of(profile);
+
+        changes.forEach((field, value) -> field.apply(profile, value));
+        profile.calculateProfileCompletion();
+
+        // Dynamic update + @Version: only changed columns, and a concurrent write fails with a conflict
+        UserProfile updatedProfile = userProfileRepository.saveAndFlush(profile);
+        userStatisticsTracker.record(before, ProfileSnapshot.of(updatedProfile));
+        log.info("✅ Profile patched for user: {} (fields: {})", updatedProfile.getUsername(), changes.keySet());
+
+        UserProfileResponse response = mapToResponse(updatedProfile);
+        eventPublisher.publishEvent(ProfileChangedEvent.of(ChangeType.UPDATED, response));
+        return response;
+    }
+
+    /**
+     * Turn a merge patch into field changes: members set a field, null members clear it,
+     * absent members leave it alone. Values go through the same constraints as a full update.
+     */
+    private Map<ProfileField, String> readMergePatch(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidRequestException("Merge patch must be a JSON object");
+        }
+
+        Map<ProfileField, String> changes = new EnumMap<>(ProfileField.class);
+        for (Map.Entry<String, JsonNode> member : patch.properties()) {
+            ProfileField field = ProfileField.fromProperty(member.getKey())
+                    .orElseThrow(() -> new InvalidRequestException("Field cannot be patched: " + member.getKey()));
+            JsonNode value = member.getValue();
+            if (value.isNull() && !field.isNullable()) {
+                throw new InvalidRequestException("Field cannot be removed: " + member.getKey());
+            }
+            if (!value.isNull() && !value.isTextual()) {
+                throw new InvalidRequestException("Field must be a string or null: " + member.getKey());
+            }
+            changes.put(field, value.isNull() ? null : value.textValue());
+        }
+
+        try {
+            UpdateProfileRequest values = objectMapper.treeToValue(patch, UpdateProfileRequest.class);
+            Set<ConstraintViolation<UpdateProfileRequest>> violations = validator.validate(values);
+            if (!violations.isEmpty()) {
+                throw new InvalidRequestException(violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            }
+        } catch (JsonProcessingException ex) {
+            throw new InvalidRequestException("Malformed merge patch: " + ex.getOriginalMessage());
+        }
+        return changes;
+    }
+
+    /**
+     * If-Match against the version just loaded in this transaction; @Version then fails the
+     * write (409) if another edit commits between this check and the flush
+     */
+    private static void checkExpectedVersion(UserProfile profile, Set<Long> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.contains(profile.getVersion())) {
+            throw new PreconditionFailedException("Profile has been modified since it was last fetched");
+        }
     }
 
     @Override
@@ -161,8 +459,11 @@ public class UserProfileServiceImpl implements UserProfileService {
         UserProfile profile = userProfileRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + userId));
 
+        ProfileSnapshot before = ProfileSnapshot.of(profile);
         profile.deactivate();
         userProfileRepository.save(profile);
+        userStatisticsTracker.record(before, ProfileSnapshot.of(profile));
+        eventPublisher.publishEvent(ProfileChangedEvent.of(ChangeType.DEACTIVATED, mapToResponse(profile)));
 
         log.info("🟠 Profile soft deleted for user: {}", profile.getUsername());
     }
@@ -171,11 +472,12 @@ public class UserProfileServiceImpl implements UserProfileService {
     public void hardDeleteProfile(String userId) {
         log.error("Hard deleting profile for user: {}", userId);
 
-        if (!userProfileRepository.existsById(userId)) {
-            throw new UserNotFoundException("User not found: " + userId);
-        }
+        UserProfile profile = userProfileRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + userId));
 
-        userProfileRepository.deleteById(userId);
+        userProfileRepository.delete(profile);
+        userStatisticsTracker.record(ProfileSnapshot.of(profile), ProfileSnapshot.NONE);
+        eventPublisher.publishEvent(ProfileChangedEvent.deleted(userId, profile.getUsername()));
         log.warn("⚠️ Profile permanently deleted for user: {}", userId);
     }
 
@@ -186,87 +488,186 @@ public class UserProfileServiceImpl implements UserProfileService {
         UserProfile profile = userProfileRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + userId));
 
+        ProfileSnapshot before = ProfileSnapshot.of(profile);
         profile.activate();
         UserProfile reactivatedProfile = userProfileRepository.save(profile);
+        userStatisticsTracker.record(before, ProfileSnapshot.of(reactivatedProfile));
 
         log.info("✅ Profile reactivated for user: {}", reactivatedProfile.getUsername());
-        return mapToResponse(reactivatedProfile);
+        UserProfileResponse response = mapToResponse(reactivatedProfile);
+        eventPublisher.publishEvent(ProfileChangedEvent.of(ChangeType.REACTIVATED, response));
+        return response;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserProfileResponse> searchUsers(String searchTerm) {
+    public CursorPageResponse<UserProfileResponse> searchUsers(String searchTerm, String cursor, Integer size) {
         log.debug("Searching users with term: {}", searchTerm);
-        List<UserProfile> profiles = userProfileRepository.searchUsers(searchTerm);
-        return profiles.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        String term = searchTerm == null ? "" : searchTerm.strip();
+        if (term.length() < minSearchTermLength) {
+            throw new InvalidRequestException(
+                    "Search term must be at least " + minSearchTermLength + " characters");
+        }
+
+        int pageSize = resolvePageSize(size);
+        int offset = OffsetCursor.decode(cursor);
+        if (offset >= maxSearchResultDepth) {
+            throw new InvalidRequestException(
+                    "Search results are limited to the first " + maxSearchResultDepth + " matches");
+        }
+
+        List<UserProfileResponse> matches = userProfileJdbcRepository.searchProfiles(
+                term, searchSimilarityThreshold, maxSearchResultDepth, offset, pageSize + 1);
+        boolean hasMore = matches.size() > pageSize && offset + pageSize < maxSearchResultDepth;
+        List<UserProfileResponse> page = matches.size() > pageSize ? matches.subList(0, pageSize) : matches;
+
+        return CursorPageResponse.<UserProfileResponse>builder()
+                .items(page)
+                .size(page.size())
+                .nextCursor(hasMore ? OffsetCursor.encode(offset + pageSize) : null)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserProfileResponse> getAllActiveUsers() {
-        log.debug("Fetching all active users");
-        List<UserProfile> profiles = userProfileRepository.findByActiveTrue();
-        return profiles.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public FacetedSearchResponse searchWithFacets(ProfileSearchFilter filter, String cursor, Integer size) {
+        log.debug("Faceted search with filter: {}", filter);
+        if (filter.getQ() != null && !filter.getQ().isBlank() && filter.getQ().strip().length() < minSearchTermLength) {
+            throw new InvalidRequestException(
+                    "Search term must be at least " + minSearchTermLength + " characters");
+        }
+
+        int pageSize = resolvePageSize(size);
+        int offset = OffsetCursor.decode(cursor);
+        if (offset >= maxSearchResultDepth) {
+            throw new InvalidRequestException(
+                    "Search results are limited to the first " + maxSearchResultDepth + " matches");
+        }
+
+        List<UserProfileResponse> matches = userProfileJdbcRepository.searchFilteredProfiles(
+                filter, searchSimilarityThreshold, maxSearchResultDepth, offset, pageSize + 1);
+        boolean hasMore = matches.size() > pageSize && offset + pageSize < maxSearchResultDepth;
+        List<UserProfileResponse> page = matches.size() > pageSize ? matches.subList(0, pageSize) : matches;
+
+        Map<String, List<FacetCount>> facets = userProfileJdbcRepository.countFacets(
+                filter, searchSimilarityThreshold, searchFacetLimit);
+        List<FacetCount> total = facets.remove("total");
+
+        return FacetedSearchResponse.builder()
+                .items(page)
+                .size(page.size())
+                .nextCursor(hasMore ? OffsetCursor.encode(offset + pageSize) : null)
+                .hasMore(hasMore)
+                .totalMatches(total == null ? 0L : total.get(0).getCount())
+                .facets(facets)
+                .build();
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<UserProfileResponse> getUsersByOrganization(String organization) {
-        log.debug("Fetching users by organization: {}", organization);
-        List<UserProfile> profiles = userProfileRepository.findByOrganization(organization);
-        return profiles.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<UserSuggestionResponse> suggestUsers(String prefix, Integer limit) {
+        // Served entirely from memory; SUPPORTS avoids opening a transaction for it
+        int resolvedLimit = limit == null ? defaultSuggestionLimit : Math.max(1, Math.min(limit, maxSuggestionLimit));
+        return userSuggestionIndex.suggest(prefix, resolvedLimit);
     }
 
+    // List endpoints read through JDBC projections: no managed entities, no dirty-checking
+    // snapshots, no per-row roles collection load
+
     @Override
     @Transactional(readOnly = true)
-    public List<UserProfileResponse> getUsersWithIncompleteProfiles() {
-        log.debug("Fetching users with incomplete profiles");
-        List<UserProfile> profiles = userProfileRepository.findUsersWithIncompleteProfiles();
-        return profiles.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public CursorPageResponse<UserProfileResponse> getAllActiveUsers(String cursor, Integer size) {
+        log.debug("Fetching active users page after cursor: {}", cursor);
+        int pageSize = resolvePageSize(size);
+        return toPage(userProfileJdbcRepository.findActivePage(KeysetCursor.decode(cursor), pageSize + 1), pageSize);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public UserStatisticsResponse getUserStatistics() {
-        log.debug("Calculating user statistics");
-
-        long totalUsers = userProfileRepository.count();
-        long activeUsers = userProfileRepository.countByActiveTrue();
-        long inactiveUsers = totalUsers - activeUsers;
-        long completedProfiles = userProfileRepository.countByProfileCompletedTrue();
-
-        List<UserProfile> allProfiles = userProfileRepository.findAll();
-        double avgCompletion = allProfiles.stream()
-                .mapToInt(UserProfile::getProfileCompletionPercentage)
-                .average()
-                .orElse(0.0);
-
-        return UserStatisticsResponse.builder()
-                .totalUsers(totalUsers)
-                .activeUsers(activeUsers)
-                .inactiveUsers(inactiveUsers)
-                .completedProfiles(completedProfiles)
-                .averageProfileCompletion(Math.round(avgCompletion))
+    public CursorPageResponse<OrganizationResponse> getOrganizations(String prefix, String cursor, Integer size) {
+        log.debug("Fetching organizations with prefix: {} after cursor: {}", prefix, cursor);
+        int pageSize = resolvePageSize(size);
+        List<OrganizationResponse> organizations = organizationStatisticsRepository.findPage(
+                prefix, KeysetCursor.decode(cursor), pageSize + 1);
+
+        boolean hasMore = organizations.size() > pageSize;
+        List<OrganizationResponse> page = hasMore ? organizations.subList(0, pageSize) : organizations;
+        return CursorPageResponse.<OrganizationResponse>builder()
+                .items(page)
+                .size(page.size())
+                .nextCursor(hasMore ? KeysetCursor.encode(page.get(page.size() - 1).getOrganization()) : null)
+                .hasMore(hasMore)
                 .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserProfileResponse> getUsersByOrganization(String organization, String cursor, Integer size) {
+        log.debug("Fetching users by organization: {} after cursor: {}", organization, cursor);
+        int pageSize = resolvePageSize(size);
+        return toPage(userProfileJdbcRepository.findOrganizationPage(
+                organization, KeysetCursor.decode(cursor), pageSize + 1), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserProfileResponse> getUsersWithIncompleteProfiles(String cursor, Integer size) {
+        log.debug("Fetching users with incomplete profiles after cursor: {}", cursor);
+        int pageSize = resolvePageSize(size);
+        return toPage(userProfileJdbcRepository.findIncompletePage(KeysetCursor.decode(cursor), pageSize + 1), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Long> countMissingFields() {
+        log.debug("Counting active profiles per missing field");
+        Map<Short, Long> byMask = userProfileJdbcRepository.countActiveByCompletionMask();
+
+        Map<String, Long> missing = new LinkedHashMap<>();
+        for (CompletionField field : CompletionField.values()) {
+            long count = 0;
+            for (Map.Entry<Short, Long> entry : byMask.entrySet()) {
+                if (!field.isSetIn(entry.getKey())) {
+                    count += entry.getValue();
+                }
+            }
+            missing.put(field.getProperty(), count);
+        }
+        return missing;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserProfileResponse> getUsersMissingField(String field, String cursor, Integer size) {
+        log.debug("Fetching users missing field: {} after cursor: {}", field, cursor);
+        CompletionField completionField = CompletionField.fromProperty(field)
+                .orElseThrow(() -> new InvalidRequestException("Unknown profile field: " + field));
+        int pageSize = resolvePageSize(size);
+        return toPage(userProfileJdbcRepository.findMissingFieldPage(
+                completionField, KeysetCursor.decode(cursor), pageSize + 1), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserStatisticsResponse getUserStatistics(boolean exact) {
+        log.debug("Fetching user statistics (exact={})", exact);
+        return exact ? userStatisticsTracker.recompute() : userStatisticsTracker.current();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public void updateLastLogin(String userId) {
         log.debug("Updating last login for user: {}", userId);
 
-        UserProfile profile = userProfileRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found: " + userId));
+        // Existence only; a cached profile or a PK probe is enough, the write itself is buffered
+        boolean exists = userProfileCache.getById(userId).isPresent()
+                || (!userProfileCache.isKnownMissingId(userId) && userProfileRepository.existsById(userId));
+        if (!exists) {
+            throw new UserNotFoundException("User not found: " + userId);
+        }
 
-        profile.updateLastLogin();
-        userProfileRepository.save(profile);
+        lastLoginBuffer.record(userId, LocalDateTime.now());
     }
 
     @Override
@@ -278,7 +679,8 @@ public class UserProfileServiceImpl implements UserProfileService {
 
         if (!profile.getRoles().contains(role)) {
             profile.getRoles().add(role.toUpperCase());
-            userProfileRepository.save(profile);
+            userProfileRepository.saveAndFlush(profile);
+            eventPublisher.publishEvent(ProfileChangedEvent.of(ChangeType.UPDATED, mapToResponse(profile)));
             log.info("✅ Role '{}' added to user {}", role, userId);
         } else {
             log.info("ℹ️ User {} already has role '{}'", userId, role);
@@ -295,7 +697,8 @@ public class UserProfileServiceImpl implements UserProfileService {
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + userId));
 
         if (profile.getRoles().removeIf(r -> r.equalsIgnoreCase(role))) {
-            userProfileRepository.save(profile);
+            userProfileRepository.saveAndFlush(profile);
+            eventPublisher.publishEvent(ProfileChangedEvent.of(ChangeType.UPDATED, mapToResponse(profile)));
             log.info("✅ Role '{}' removed from user {}", role, userId);
         } else {
             log.info("ℹ️ User {} did not have role '{}'", userId, role);
@@ -304,6 +707,40 @@ public class UserProfileServiceImpl implements UserProfileService {
         return mapToResponse(profile);
     }
 
+    private static Set<String> distinct(List<String> values) {
+        if (values == null) {
+            return new LinkedHashSet<>();
+        }
+        return values.stream()
+                .filter(value -> value != null && !value.isBlank())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    // Page size requested by the client, clamped to the configured maximum
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new InvalidRequestException("Page size must be at least 1");
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    // Pages are fetched with one extra row so we know whether another page exists without a count query
+    private CursorPageResponse<UserProfileResponse> toPage(List<UserProfileResponse> profiles, int pageSize) {
+        boolean hasMore = profiles.size() > pageSize;
+        List<UserProfileResponse> page = hasMore ? profiles.subList(0, pageSize) : profiles;
+        String nextCursor = hasMore ? KeysetCursor.encode(page.get(page.size() - 1).getId()) : null;
+
+        return CursorPageResponse.<UserProfileResponse>builder()
+                .items(page)
+                .size(page.size())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     // Helper method to map entity to response DTO
     private UserProfileResponse mapToResponse(UserProfile profile) {
         return UserProfileResponse.builder()
@@ -321,13 +758,14 @@ public class UserProfileServiceImpl implements UserProfileService {
                 .githubUrl(profile.getGithubUrl())
                 .twitterUrl(profile.getTwitterUrl())
                 .websiteUrl(profile.getWebsiteUrl())
-                .roles(profile.getRoles())
+                .roles(new ArrayList<>(profile.getRoles()))
                 .active(profile.getActive())
                 .profileCompleted(profile.getProfileCompleted())
                 .profileCompletionPercentage(profile.getProfileCompletionPercentage())
                 .lastLoginAt(profile.getLastLoginAt())
                 .createdAt(profile.getCreatedAt())
                 .updatedAt(profile.getUpdatedAt())
+                .version(profile.getVersion())
                 .build();
     }
 
@@ -0,0 +1,219 @@
+package com.collabrix.user.service;
+
+import com.collabrix.user.dto.UserStatisticsResponse;
+import com.collabrix.user.entity.UserStatistics;
+import com.collabrix.user.repository.OrganizationStatisticsRepository;
+import com.collabrix.user.repository.OrganizationStatisticsRepository.MemberDelta;
+import com.collabrix.user.repository.UserStatisticsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maintains the user_statistics row and the per-organization member counts
+ * incrementally, so the statistics and organization directory endpoints are
+ * index reads instead of scans of user_profiles
+ */
+@Slf4j
+@Service
+public class UserStatisticsTracker {
+
+    private final UserStatisticsRepository userStatisticsRepository;
+    private final OrganizationStatisticsRepository organizationStatisticsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserStatisticsTracker(UserStatisticsRepository userStatisticsRepository,
+                                 OrganizationStatisticsRepository organizationStatisticsRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.userStatisticsRepository = userStatisticsRepository;
+        this.organizationStatisticsRepository = organizationStatisticsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Adjust the counters by the difference between two states of one profile.
+     * Runs in the caller's transaction so counters commit or roll back with the write.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ProfileSnapshot before, ProfileSnapshot after) {
+        long totalDelta = flag(after.exists()) - flag(before.exists());
+        long activeDelta = flag(after.active()) - flag(before.active());
+        long completedDelta = flag(after.profileCompleted()) - flag(before.profileCompleted());
+        long completionSumDelta = (long) after.completionPercentage() - before.completionPercentage();
+        apply(totalDelta, activeDelta, completedDelta, completionSumDelta);
+
+        Map<String, MemberDelta> organizationDeltas = new HashMap<>();
+        addMember(organizationDeltas, before, -1);
+        addMember(organizationDeltas, after, 1);
+        applyOrganizations(organizationDeltas);
+    }
+
+    /**
+     * Count many newly created profiles with a single counter update
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Collection<ProfileSnapshot> created) {
+        recordAll(created, 1);
+    }
+
+    /**
+     * Uncount many permanently deleted profiles with a single counter update
+     *
+     * @param deleted state of each profile just before it was deleted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Collection<ProfileSnapshot> deleted) {
+        recordAll(deleted, -1);
+    }
+
+    /**
+     * Count many profiles moving between active and inactive with a single counter update
+     *
+     * @param organizations organization of each profile that changed (null when it has none)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordActiveChanged(Collection<String> organizations, boolean active) {
+        long activeDelta = active ? 1 : -1;
+        apply(0, activeDelta * organizations.size(), 0, 0);
+
+        Map<String, MemberDelta> organizationDeltas = new HashMap<>();
+        for (String organization : organizations) {
+            if (isMember(organization)) {
+                organizationDeltas.merge(organization, new MemberDelta(0, activeDelta), (a, b) -> a.plus(0, b.active()));
+            }
+        }
+        applyOrganizations(organizationDeltas);
+    }
+
+    private void recordAll(Collection<ProfileSnapshot> snapshots, long sign) {
+        long activeDelta = 0;
+        long completedDelta = 0;
+        long completionSumDelta = 0;
+        Map<String, MemberDelta> organizationDeltas = new HashMap<>();
+        for (ProfileSnapshot snapshot : snapshots) {
+            activeDelta += flag(snapshot.active());
+            completedDelta += flag(snapshot.profileCompleted());
+            completionSumDelta += snapshot.completionPercentage();
+            addMember(organizationDeltas, snapshot, sign);
+        }
+        apply(sign * snapshots.size(), sign * activeDelta, sign * completedDelta, sign * completionSumDelta);
+        applyOrganizations(organizationDeltas);
+    }
+
+    private void apply(long totalDelta, long activeDelta, long completedDelta, long completionSumDelta) {
+        if (totalDelta == 0 && activeDelta == 0 && completedDelta == 0 && completionSumDelta == 0) {
+            return;
+        }
+
+        int updated = userStatisticsRepository.applyDelta(UserStatistics.SINGLETON_ID,
+                totalDelta, activeDelta, completedDelta, completionSumDelta);
+        if (updated == 0) {
+            // Not initialised yet; the startup reconciliation will pick this write up
+            log.debug("Statistics row missing, skipping delta");
+        }
+    }
+
+    private static void addMember(Map<String, MemberDelta> deltas, ProfileSnapshot snapshot, long sign) {
+        if (snapshot.exists() && isMember(snapshot.organization())) {
+            deltas.merge(snapshot.organization(), new MemberDelta(sign, sign * flag(snapshot.active())),
+                    (a, b) -> a.plus(b.total(), b.active()));
+        }
+    }
+
+    private void applyOrganizations(Map<String, MemberDelta> deltas) {
+        // An update that keeps the organization and active flag nets out to nothing
+        deltas.values().removeIf(MemberDelta::isZero);
+        organizationStatisticsRepository.applyDeltas(deltas);
+    }
+
+    /**
+     * Running counters, O(1)
+     */
+    @Transactional(readOnly = true)
+    public UserStatisticsResponse current() {
+        return userStatisticsRepository.findById(UserStatistics.SINGLETON_ID)
+                .map(stats -> toResponse(stats.getTotalUsers(), stats.getActiveUsers(),
+                        stats.getCompletedProfiles(), stats.getCompletionSum()))
+                .orElseGet(this::recompute);
+    }
+
+    /**
+     * Exact figures from a single aggregate query, without touching the counters
+     */
+    @Transactional(readOnly = true)
+    public UserStatisticsResponse recompute() {
+        UserStatisticsRepository.Totals totals = userStatisticsRepository.computeTotals();
+        return toResponse(totals.getTotalUsers(), totals.getActiveUsers(),
+                totals.getCompletedProfiles(), totals.getCompletionSum());
+    }
+
+    /**
+     * Overwrite the counters with exact figures. The row lock makes concurrent
+     * deltas wait, so none is lost between the aggregate and the write.
+     */
+    @Scheduled(fixedDelayString = "${user.statistics.reconcile-interval-ms:3600000}",
+            initialDelayString = "${user.statistics.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        transactionTemplate.executeWithoutResult(status -> reconcileInTransaction());
+    }
+
+    private void reconcileInTransaction() {
+        UserStatistics stats = userStatisticsRepository.findByIdForUpdate(UserStatistics.SINGLETON_ID)
+                .orElseGet(() -> UserStatistics.builder().id(UserStatistics.SINGLETON_ID).build());
+
+        UserStatisticsRepository.Totals totals = userStatisticsRepository.computeTotals();
+        if (stats.getTotalUsers() != null && stats.getTotalUsers().longValue() != totals.getTotalUsers()) {
+            log.warn("⚠️ Statistics drift corrected: total users {} -> {}", stats.getTotalUsers(), totals.getTotalUsers());
+        }
+
+        stats.setTotalUsers(totals.getTotalUsers());
+        stats.setActiveUsers(totals.getActiveUsers());
+        stats.setCompletedProfiles(totals.getCompletedProfiles());
+        stats.setCompletionSum(totals.getCompletionSum());
+        stats.setReconciledAt(LocalDateTime.now());
+        userStatisticsRepository.save(stats);
+
+        int organizations = organizationStatisticsRepository.reconcile();
+        log.info("✅ User statistics reconciled: {} users in {} organizations", totals.getTotalUsers(), organizations);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            reconcile();
+        } catch (DataIntegrityViolationException ex) {
+            // Another replica created the row first; its figures are just as fresh
+            log.info("Statistics row initialised concurrently by another instance");
+        }
+    }
+
+    private UserStatisticsResponse toResponse(long total, long active, long completed, long completionSum) {
+        return UserStatisticsResponse.builder()
+                .totalUsers(total)
+                .activeUsers(active)
+                .inactiveUsers(total - active)
+                .completedProfiles(completed)
+                .averageProfileCompletion(total == 0 ? 0 : Math.round((double) completionSum / total))
+                .build();
+    }
+
+    private static long flag(boolean value) {
+        return value ? 1 : 0;
+    }
+
+    private static boolean isMember(String organization) {
+        return organization != null && !organization.isEmpty();
+    }
+}
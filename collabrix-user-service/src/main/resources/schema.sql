@@ -0,0 +1,95 @@
+-- ============================================
+-- PostgreSQL-specific schema objects
+-- Runs after Hibernate's ddl-auto pass (spring.jpa.defer-datasource-initialization),
+-- so every statement here must be idempotent.
+-- ============================================
+
+-- Profile search: one lower-cased document per profile, trigram-indexed so that
+-- substring (LIKE '%term%') and fuzzy (<%) matches are index scans. GiST rather
+-- than GIN because it can also return rows in relevance order (<<-> KNN), so a
+-- page of the best matches never has to score and sort every match.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE user_profiles ADD COLUMN IF NOT EXISTS search_document TEXT
+    GENERATED ALWAYS AS (lower(
+        coalesce(username, '') || ' ' || coalesce(email, '') || ' ' ||
+        coalesce(first_name, '') || ' ' || coalesce(last_name, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_user_profiles_search_trgm
+    ON user_profiles USING gist (search_document gist_trgm_ops);
+
+-- Kafka consumer deduplication: ids of events already applied, written in the same
+-- transaction as the event's effect and pruned once they are older than any redelivery
+CREATE TABLE IF NOT EXISTS processed_events (
+    event_id     VARCHAR(255) PRIMARY KEY,
+    processed_at TIMESTAMP    NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_processed_events_processed_at
+    ON processed_events (processed_at);
+
+-- Per-user ordering across the retry path: the newest event timestamp applied for each user
+-- and scope (lifecycle, or one role), so an event retried after a newer one is skipped
+CREATE TABLE IF NOT EXISTS user_event_watermarks (
+    user_id         VARCHAR(255) NOT NULL,
+    scope           VARCHAR(100) NOT NULL,
+    event_timestamp BIGINT       NOT NULL,
+    PRIMARY KEY (user_id, scope)
+);
+
+-- Optimistic locking: Hibernate adds user_profiles.version as a nullable column, so give
+-- it a default for set-based inserts and backfill rows that predate it
+ALTER TABLE user_profiles ALTER COLUMN version SET DEFAULT 0;
+
+UPDATE user_profiles SET version = 0 WHERE version IS NULL;
+
+ALTER TABLE user_profiles ALTER COLUMN version SET NOT NULL;
+
+-- Organization directory: member paging seeks on (organization, id), and the running
+-- per-organization counts are kept in their own table so listing organizations never
+-- groups user_profiles
+CREATE INDEX IF NOT EXISTS idx_user_profiles_organization
+    ON user_profiles (organization, id) WHERE organization IS NOT NULL;
+
+CREATE TABLE IF NOT EXISTS organization_statistics (
+    organization   VARCHAR(255) PRIMARY KEY,
+    total_members  BIGINT       NOT NULL DEFAULT 0,
+    active_members BIGINT       NOT NULL DEFAULT 0
+);
+
+-- Completion mask: one bit per filled optional field (see CompletionField). The partial
+-- index makes the per-mask histogram behind the missing-field counts an index-only scan;
+-- the second one lets the background backfill find rows that predate the column, and
+-- is empty once it is done
+CREATE INDEX IF NOT EXISTS idx_user_profiles_completion_mask
+    ON user_profiles (completion_mask) WHERE active = true;
+
+CREATE INDEX IF NOT EXISTS idx_user_profiles_completion_mask_pending
+    ON user_profiles (id) WHERE completion_mask IS NULL;
+
+-- Incomplete-profile outreach: the job (and the /incomplete pages) seek through exactly
+-- these rows in id order
+CREATE INDEX IF NOT EXISTS idx_user_profiles_incomplete_active
+    ON user_profiles (id) WHERE profile_completed = false AND active = true;
+
+-- Progress of resumable background jobs, one row per job. cursor_id is set while a run is
+-- in progress (the last id handed off), and the lease keeps other replicas from running it too
+CREATE TABLE IF NOT EXISTS job_checkpoints (
+    job_name       VARCHAR(100) PRIMARY KEY,
+    run_id         VARCHAR(36),
+    cursor_id      VARCHAR(255),
+    chunks         BIGINT       NOT NULL DEFAULT 0,
+    processed      BIGINT       NOT NULL DEFAULT 0,
+    run_started_at TIMESTAMP,
+    completed_at   TIMESTAMP,
+    lease_owner    VARCHAR(255),
+    lease_until    TIMESTAMP
+);
+
+-- Retention purge: deactivated profiles in order of when they were last written
+-- (updated_at is stamped on deactivation), so each batch reads only expired rows.
+-- Rows deactivated without a timestamp start their retention period now
+UPDATE user_profiles SET updated_at = now() WHERE active = false AND updated_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_user_profiles_inactive_updated_at
+    ON user_profiles (updated_at) WHERE active = false;
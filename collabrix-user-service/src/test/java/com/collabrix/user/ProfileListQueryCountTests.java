@@ -0,0 +1,155 @@
+package com.collabrix.user;
+
+import com.collabrix.user.dto.BatchProfileRequest;
+import com.collabrix.user.dto.ProfileSearchFilter;
+import com.collabrix.user.entity.UserProfile;
+import com.collabrix.user.metrics.RequestQueryStats;
+import com.collabrix.user.repository.UserProfileRepository;
+import com.collabrix.user.service.UserProfileService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A page of profiles, roles included, must cost the same number of statements whether it
+ * holds 10 rows or 1,000: no per-row role lookups on the list, search and batch paths.
+ */
+@SpringBootTest(properties = {
+        "user.pagination.max-page-size=" + ProfileListQueryCountTests.PROFILES,
+        "user.search.max-result-depth=" + ProfileListQueryCountTests.PROFILES * 2
+})
+class ProfileListQueryCountTests {
+
+    static final int PROFILES = 1000;
+    private static final int SMALL_PAGE = 10;
+    private static final String ORGANIZATION = "query-count-tests";
+    private static final String USERNAME_PREFIX = "qcount";
+
+    @Autowired
+    private UserProfileService userProfileService;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${spring.jpa.properties.hibernate.default_batch_fetch_size}")
+    private int batchFetchSize;
+
+    private List<String> userIds;
+
+    @BeforeEach
+    void seedProfiles() {
+        removeProfiles();
+        jdbcTemplate.update("INSERT INTO user_profiles (id, username, email, first_name, country_code, contact_no, " +
+                        "organization, active, profile_completed, profile_completion_percentage, version, created_at, updated_at) " +
+                        "SELECT ? || lpad(g::text, 4, '0'), ? || lpad(g::text, 4, '0'), ? || lpad(g::text, 4, '0') || '@example.com', " +
+                        "'Query', 'IN', '0000000000', ?, true, false, 25, 0, now(), now() FROM generate_series(1, ?) g",
+                USERNAME_PREFIX + "-id-", USERNAME_PREFIX, USERNAME_PREFIX, ORGANIZATION, PROFILES);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role) " +
+                "SELECT u.id, r.role FROM user_profiles u CROSS JOIN (VALUES ('USER'), ('MEMBER')) AS r(role) " +
+                "WHERE u.organization = ?", ORGANIZATION);
+        userIds = jdbcTemplate.queryForList(
+                "SELECT id FROM user_profiles WHERE organization = ? ORDER BY id", String.class, ORGANIZATION);
+    }
+
+    @AfterEach
+    void removeProfiles() {
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id IN " +
+                "(SELECT id FROM user_profiles WHERE organization = ?)", ORGANIZATION);
+        jdbcTemplate.update("DELETE FROM user_profiles WHERE organization = ?", ORGANIZATION);
+    }
+
+    @Test
+    void organizationPageCostsConstantStatements() {
+        assertConstantStatements(size -> userProfileService.getUsersByOrganization(ORGANIZATION, null, size).getSize());
+    }
+
+    @Test
+    void searchPageCostsConstantStatements() {
+        assertConstantStatements(size -> userProfileService.searchUsers(USERNAME_PREFIX, null, size).getSize());
+    }
+
+    @Test
+    void facetedSearchPageCostsConstantStatements() {
+        ProfileSearchFilter filter = new ProfileSearchFilter();
+        filter.setOrganization(ORGANIZATION);
+        assertConstantStatements(size -> userProfileService.searchWithFacets(filter, null, size).getSize());
+    }
+
+    @Test
+    void batchCostsConstantStatements() {
+        // Disjoint id sets, so neither call is served from the other's cache fills
+        AtomicInteger offset = new AtomicInteger();
+        assertConstantStatements(size -> {
+            List<String> ids = new ArrayList<>(userIds.subList(offset.getAndAdd(size), offset.get()));
+            return userProfileService.getProfilesBatch(new BatchProfileRequest(ids, List.of())).getProfiles().size();
+        }, SMALL_PAGE, PROFILES - SMALL_PAGE);
+    }
+
+    @Test
+    void entityListLoadsRolesInBatches() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long[] statements = new long[1];
+        List<UserProfile> profiles = transactionTemplate.execute(status -> {
+            RequestQueryStats.begin();
+            List<UserProfile> loaded = userProfileRepository.findByOrganization(ORGANIZATION);
+            loaded.forEach(profile -> profile.getRoles().size());
+            statements[0] = RequestQueryStats.end().statements();
+            return loaded;
+        });
+
+        assertThat(profiles).hasSize(PROFILES).allSatisfy(profile -> assertThat(profile.getRoles()).hasSize(2));
+        // One profile query plus one roles query per batch_fetch_size profiles
+        assertThat(statements[0]).isLessThanOrEqualTo(1 + (PROFILES + batchFetchSize - 1) / batchFetchSize);
+    }
+
+    private void assertConstantStatements(PageFetch page) {
+        assertConstantStatements(page, SMALL_PAGE, PROFILES);
+    }
+
+    private void assertConstantStatements(PageFetch page, int smallSize, int largeSize) {
+        long smallStatements = statementsFor(() -> assertThat(page.rows(smallSize)).isEqualTo(smallSize));
+        long largeStatements = statementsFor(() -> assertThat(page.rows(largeSize)).isEqualTo(largeSize));
+
+        assertThat(largeStatements)
+                .as("statements for %d rows vs %d rows", largeSize, smallSize)
+                .isEqualTo(smallStatements)
+                .isPositive();
+    }
+
+    private static long statementsFor(Runnable call) {
+        RequestQueryStats.begin();
+        try {
+            call.run();
+        } catch (RuntimeException | AssertionError ex) {
+            RequestQueryStats.end();
+            throw ex;
+        }
+        return RequestQueryStats.end().statements();
+    }
+
+    /**
+     * Fetch a page of the given size and return how many rows it held
+     */
+    @FunctionalInterface
+    private interface PageFetch {
+        int rows(int size);
+    }
+}
@@ -0,0 +1,88 @@
+package com.collabrix.user;
+
+import com.collabrix.user.exception.UserNotFoundException;
+import com.collabrix.user.service.UserProfileService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the read paths concurrently on virtual threads (more of them than there are pooled
+ * connections, so they have to park) and fails on any JFR jdk.VirtualThreadPinned event:
+ * a pinned virtual thread blocks its carrier and quietly undoes the virtual-thread mode.
+ */
+@SpringBootTest
+class VirtualThreadPinningTests {
+
+    private static final int CONCURRENT_CALLS = 64;
+
+    @Autowired
+    private UserProfileService userProfileService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void readPathsDoNotPinVirtualThreads() throws Exception {
+        List<String> userIds = jdbcTemplate.queryForList(
+                "SELECT id FROM user_profiles WHERE active = true ORDER BY id LIMIT ?", String.class, CONCURRENT_CALLS);
+
+        // Warm-up: class loading and initialization pin legitimately the first time round
+        runConcurrently(userIds);
+
+        List<RecordedEvent> pinnedEvents = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinnedEvents::add);
+            recording.startAsync();
+            runConcurrently(userIds);
+            recording.stop();
+        }
+
+        assertThat(pinnedEvents)
+                .as("virtual threads pinned:%n%s", pinnedEvents.stream()
+                        .map(event -> event.getStackTrace() == null ? "?" : event.getStackTrace().toString())
+                        .collect(Collectors.joining("\n")))
+                .isEmpty();
+    }
+
+    private void runConcurrently(List<String> userIds) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_CALLS; i++) {
+                String userId = userIds.isEmpty() ? "missing-" + i : userIds.get(i % userIds.size());
+                calls.add(executor.submit(() -> readProfile(userId)));
+            }
+            calls.add(executor.submit(() -> userProfileService.getAllActiveUsers(null, 20)));
+            calls.add(executor.submit(() -> userProfileService.getUserStatistics(false)));
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        }
+    }
+
+    private void readProfile(String userId) {
+        try {
+            userProfileService.getProfileEtag(userId);
+            String username = userProfileService.getProfileById(userId).getUsername();
+            userProfileService.getProfileByUsername(username);
+            userProfileService.searchUsers(username, null, 10);
+        } catch (UserNotFoundException ignored) {
+            // Empty database: the not-found path still goes through cache, pool and driver
+        }
+    }
+}
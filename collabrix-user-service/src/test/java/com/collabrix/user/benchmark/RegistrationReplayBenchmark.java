@@ -0,0 +1,163 @@
+package com.collabrix.user.benchmark;
+
+import com.collabrix.user.dto.UserProfileResponse;
+import com.collabrix.user.entity.UserProfile;
+import com.collabrix.user.kafka.events.UserRegisteredEvent;
+import com.collabrix.user.repository.UserProfileRepository;
+import com.collabrix.user.service.ProfileSnapshot;
+import com.collabrix.user.service.UserProfileService;
+import com.collabrix.user.service.UserStatisticsTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Replays a burst of USER_REGISTERED events through the old and the new write path.
+ *
+ * Legacy: one transaction per event doing existsById + save (merge, so an extra SELECT),
+ * as createProfile did before batch consumption. Current: UserProfileService.createProfiles
+ * per poll of max-poll-records events. A tenth of the events are redeliveries of earlier
+ * ones, as in a replay. Rows are removed afterwards.
+ * Not part of the normal build; run with
+ * mvn test -Dtest=RegistrationReplayBenchmark -Dbenchmark=true
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "logging.level.com.collabrix=WARN"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RegistrationReplayBenchmark {
+
+    private static final int USERS = 5000;
+    private static final String ID_PREFIX = "replay-bench-";
+
+    @Value("${kafka.consumer.user-registered.max-poll-records:500}")
+    private int pollSize;
+
+    @Autowired
+    private UserProfileService userProfileService;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private UserStatisticsTracker userStatisticsTracker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        removeProfiles();
+    }
+
+    @AfterEach
+    void removeProfiles() {
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id LIKE ?", ID_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM user_profiles WHERE id LIKE ?", ID_PREFIX + "%");
+    }
+
+    @Test
+    void compareLegacyAndBatchedRegistration() {
+        List<UserRegisteredEvent> events = replay();
+
+        long legacyStart = System.nanoTime();
+        events.forEach(event -> transactionTemplate.executeWithoutResult(status -> createLegacy(event)));
+        double legacyMs = (System.nanoTime() - legacyStart) / 1_000_000.0;
+        long legacyRows = countProfiles();
+        removeProfiles();
+
+        List<UserProfileResponse> created = new ArrayList<>();
+        long batchStart = System.nanoTime();
+        for (int from = 0; from < events.size(); from += pollSize) {
+            created.addAll(userProfileService.createProfiles(events.subList(from, Math.min(from + pollSize, events.size()))));
+        }
+        double batchMs = (System.nanoTime() - batchStart) / 1_000_000.0;
+        long batchRows = countProfiles();
+        // createProfiles counted these in the running statistics; take them out again
+        transactionTemplate.executeWithoutResult(status -> userStatisticsTracker.recordDeleted(
+                created.stream().map(ProfileSnapshot::of).toList()));
+
+        System.out.printf("%nRegistration replay: %d events, %d users, polls of %d%n", events.size(), USERS, pollSize);
+        System.out.printf("%-8s %10s %12s %8s%n", "path", "ms", "events/s", "rows");
+        System.out.printf("%-8s %10.0f %12.0f %8d%n", "legacy", legacyMs, events.size() * 1000 / legacyMs, legacyRows);
+        System.out.printf("%-8s %10.0f %12.0f %8d%n", "batched", batchMs, events.size() * 1000 / batchMs, batchRows);
+        System.out.printf("speedup  %.1fx%n", legacyMs / batchMs);
+    }
+
+    private void createLegacy(UserRegisteredEvent event) {
+        if (userProfileRepository.existsById(event.getKeycloakUserId())) {
+            return;
+        }
+        UserProfile profile = UserProfile.builder()
+                .id(event.getKeycloakUserId())
+                .username(event.getUsername())
+                .email(event.getEmail())
+                .firstName(event.getFirstName())
+                .lastName(event.getLastName())
+                .countryCode(event.getCountryCode())
+                .contactNo(event.getContactNo())
+                .organization(event.getOrganization())
+                .roles(new ArrayList<>(event.getRoles()))
+                .active(true)
+                .profileCompleted(false)
+                .build();
+        profile.calculateProfileCompletion();
+        userProfileRepository.save(profile);
+    }
+
+    /**
+     * One event per user, with every tenth user delivered a second time a little later
+     */
+    private static List<UserRegisteredEvent> replay() {
+        List<UserRegisteredEvent> events = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            events.add(event(i));
+            if (i % 10 == 9) {
+                events.add(event(i - 5));
+            }
+        }
+        return events;
+    }
+
+    private static UserRegisteredEvent event(int user) {
+        String suffix = String.format("%05d", user);
+        return UserRegisteredEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType("USER_REGISTERED")
+                .timestamp(System.currentTimeMillis())
+                .keycloakUserId(ID_PREFIX + suffix)
+                .username("replaybench" + suffix)
+                .email("replaybench" + suffix + "@example.com")
+                .firstName("Replay")
+                .lastName("Bench")
+                .countryCode("IN")
+                .contactNo("0000000000")
+                .organization("replay-bench")
+                .roles(List.of("USER"))
+                .build();
+    }
+
+    private long countProfiles() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM user_profiles WHERE id LIKE ?", Long.class, ID_PREFIX + "%");
+    }
+}
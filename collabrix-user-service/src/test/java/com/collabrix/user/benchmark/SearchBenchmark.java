@@ -0,0 +1,90 @@
+package com.collabrix.user.benchmark;
+
+import com.collabrix.user.service.UserProfileService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * GET /api/v1/users/search before and after the trigram index, against whatever is in
+ * the configured database (the published figures came from 200k synthetic profiles).
+ *
+ * Legacy: the four OR-ed LOWER(col) LIKE '%term%' predicates of the removed JPQL query,
+ * returning every match. Current: one 50-row page from UserProfileService.searchUsers.
+ * Not part of the normal build; run with
+ * mvn test -Dtest=SearchBenchmark -Dbenchmark=true
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "logging.level.com.collabrix=WARN"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SearchBenchmark {
+
+    private static final List<String> TERMS = List.of("user", "john", "gmail", "kumar", "xyz", "anish");
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 10;
+    private static final int PAGE_SIZE = 50;
+
+    private static final String LEGACY_SQL = "SELECT * FROM user_profiles u WHERE " +
+            "lower(u.username) LIKE lower('%' || ? || '%') OR " +
+            "lower(u.email) LIKE lower('%' || ? || '%') OR " +
+            "lower(u.first_name) LIKE lower('%' || ? || '%') OR " +
+            "lower(u.last_name) LIKE lower('%' || ? || '%')";
+
+    @Value("${user.search.max-result-depth}")
+    private int maxResultDepth;
+
+    @Autowired
+    private UserProfileService userProfileService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareLegacyAndTrigramSearch() {
+        System.out.printf("%nSearch benchmark over %d profiles (median of %d runs)%n",
+                jdbcTemplate.queryForObject("SELECT count(*) FROM user_profiles", Long.class), MEASURED_RUNS);
+        System.out.printf("%-8s %14s %14s %14s%n", "term", "legacy ms", "matches", "trigram ms");
+
+        for (String term : TERMS) {
+            int[] legacyMatches = new int[1];
+            double legacyMs = medianMillis(() -> legacyMatches[0] = jdbcTemplate.queryForList(
+                    LEGACY_SQL, term, term, term, term).size());
+            double trigramMs = medianMillis(() -> userProfileService.searchUsers(term, null, PAGE_SIZE).getSize());
+            System.out.printf("%-8s %14.1f %14d %14.1f%n", term, legacyMs, legacyMatches[0], trigramMs);
+        }
+
+        // The ranked window should come straight off the GiST index, with only it sorted by distance, id
+        System.out.printf("%nPlan for '%s':%n", TERMS.get(0));
+        jdbcTemplate.queryForList("EXPLAIN SELECT u.id FROM (SELECT u.id, ? <<-> u.search_document AS distance " +
+                                "FROM user_profiles u WHERE u.search_document LIKE ? OR ? <% u.search_document " +
+                                "ORDER BY distance LIMIT ?) ranked JOIN user_profiles u ON u.id = ranked.id " +
+                                "ORDER BY ranked.distance, u.id LIMIT ?", String.class,
+                        TERMS.get(0), "%" + TERMS.get(0) + "%", TERMS.get(0), maxResultDepth, PAGE_SIZE + 1)
+                .forEach(System.out::println);
+    }
+
+    private static double medianMillis(Supplier<Integer> run) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run.get();
+        }
+        double[] millis = new double[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            run.get();
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        return millis[MEASURED_RUNS / 2];
+    }
+}